@@ -0,0 +1,133 @@
+package com.blog.demo.benchmark;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import com.blog.demo.BlogApplication;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * 벤치마크 공용 데이터. 고정 시드로 합성 말뭉치를 만들어 커밋 간 결과를 비교할 수 있게 한다.
+ */
+final class BenchmarkData {
+    
+    static final String[] CATEGORIES = {"자유", "유머", "질문", "정보"};
+    
+    private static final int VOCABULARY_SIZE = 2000;
+    private static final int BATCH_SIZE = 1000;
+    
+    private BenchmarkData() {
+    }
+    
+    /**
+     * 별도 인메모리 DB 를 쓰는 애플리케이션 컨텍스트를 띄운다.
+     */
+    static ConfigurableApplicationContext startApplication() {
+        String datasourceUrl = "jdbc:h2:mem:bench-" + UUID.randomUUID();
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(BlogApplication.class)
+                .web(WebApplicationType.SERVLET)
+                // .properties(...) 로 넘긴 기본값은 application.properties 에 밀리므로 명령행 인자로 넘긴다
+                .run("--server.port=0",
+                        "--spring.datasource.url=" + datasourceUrl,
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN");
+        // 설정이 밀리면 공용 testdb 와 SQL 로그를 켠 채로 측정하게 되므로 바로 멈춘다
+        String actualUrl = context.getEnvironment().getProperty("spring.datasource.url");
+        if (!datasourceUrl.equals(actualUrl)) {
+            context.close();
+            throw new IllegalStateException("Benchmark overrides were not applied: spring.datasource.url=" + actualUrl);
+        }
+        return context;
+    }
+    
+    static String[] vocabulary() {
+        Random random = new Random(42);
+        String[] words = new String[VOCABULARY_SIZE];
+        for (int i = 0; i < words.length; i++) {
+            StringBuilder word = new StringBuilder();
+            int length = 2 + random.nextInt(5);
+            for (int j = 0; j < length; j++) {
+                // 한글 음절과 영문 소문자를 섞어 바이그램 분포를 실제 게시글과 비슷하게 만든다
+                word.append(random.nextBoolean()
+                        ? (char) ('가' + random.nextInt(400))
+                        : (char) ('a' + random.nextInt(26)));
+            }
+            words[i] = word.toString();
+        }
+        return words;
+    }
+    
+    static String sentence(Random random, String[] vocabulary, int words) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(vocabulary[random.nextInt(vocabulary.length)]);
+        }
+        return text.toString();
+    }
+    
+    /**
+     * 사용자 userCount 명을 추가하고 아이디 목록을 반환한다.
+     */
+    static List<String> seedUsers(JdbcTemplate jdbcTemplate, int userCount) {
+        List<String> usernames = new ArrayList<>();
+        List<Object[]> rows = new ArrayList<>();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int i = 0; i < userCount; i++) {
+            String username = "bench" + i;
+            usernames.add(username);
+            rows.add(new Object[]{username, "{noop}password", username + "@bench.local", username, now});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (username, password, email, display_name, points, role, created_date) " +
+                "VALUES (?, ?, ?, ?, 0, 'USER', ?)", rows);
+        return usernames;
+    }
+    
+    /**
+     * 게시글 postCount 개를 사용자들에게 나누어 추가한다.
+     */
+    static void seedPosts(JdbcTemplate jdbcTemplate, int postCount, List<String> usernames) {
+        List<Long> userIds = new ArrayList<>();
+        for (String username : usernames) {
+            userIds.add(jdbcTemplate.queryForObject("SELECT id FROM users WHERE username = ?", Long.class, username));
+        }
+        
+        Random random = new Random(7);
+        String[] vocabulary = vocabulary();
+        LocalDateTime start = LocalDateTime.now().minusDays(30);
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < postCount; i++) {
+            Timestamp created = Timestamp.valueOf(start.plusSeconds(i * 60L));
+            rows.add(new Object[]{
+                    sentence(random, vocabulary, 3 + random.nextInt(5)),
+                    sentence(random, vocabulary, 30 + random.nextInt(70)),
+                    CATEGORIES[random.nextInt(CATEGORIES.length)],
+                    userIds.get(random.nextInt(userIds.size())),
+                    (long) random.nextInt(1000),
+                    created,
+                    created
+            });
+            if (rows.size() == BATCH_SIZE) {
+                insertPosts(jdbcTemplate, rows);
+                rows.clear();
+            }
+        }
+        if (!rows.isEmpty()) {
+            insertPosts(jdbcTemplate, rows);
+        }
+    }
+    
+    private static void insertPosts(JdbcTemplate jdbcTemplate, List<Object[]> rows) {
+        jdbcTemplate.batchUpdate("INSERT INTO posts (title, content, category, user_id, view_count, created_date, modified_date) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+}
@@ -0,0 +1,151 @@
+package com.blog.demo.benchmark;
+
+import com.blog.demo.dto.CommentResponse;
+import com.blog.demo.dto.CursorPageResponse;
+import com.blog.demo.dto.PostResponse;
+import com.blog.demo.dto.PostSummary;
+import com.blog.demo.dto.UserResponse;
+import com.blog.demo.entity.Comment;
+import com.blog.demo.entity.Post;
+import com.blog.demo.entity.User;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 엔티티 -> 응답 DTO 변환과 피드 한 페이지의 Jackson 직렬화.
+ * ObjectMapper 는 Spring Boot 와 같은 빌더 설정을 쓴다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoSerializationBenchmark {
+    
+    @Param({"20", "100"})
+    private int pageSize;
+    
+    @Param({"200", "5000"})
+    private int contentLength;
+    
+    private ObjectMapper objectMapper;
+    private List<Post> posts;
+    private List<Comment> comments;
+    private List<User> users;
+    
+    @Setup
+    public void setup() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        
+        Random random = new Random(42);
+        String[] vocabulary = BenchmarkData.vocabulary();
+        LocalDateTime now = LocalDateTime.now();
+        users = new ArrayList<>();
+        posts = new ArrayList<>();
+        comments = new ArrayList<>();
+        
+        for (int i = 0; i < pageSize; i++) {
+            User user = new User();
+            user.setId((long) i);
+            user.setUsername("user" + i);
+            user.setEmail("user" + i + "@bench.local");
+            user.setDisplayName("User " + i);
+            user.setCreatedDate(now);
+            user.setPoints(random.nextInt(1000));
+            user.setRole(User.Role.USER);
+            users.add(user);
+            
+            Post post = new Post();
+            post.setId((long) i);
+            post.setTitle(BenchmarkData.sentence(random, vocabulary, 5));
+            post.setContent(text(random, vocabulary, contentLength));
+            post.setCategory(BenchmarkData.CATEGORIES[i % BenchmarkData.CATEGORIES.length]);
+            post.setCreatedDate(now.minusMinutes(i));
+            post.setModifiedDate(now.minusMinutes(i));
+            post.setViewCount((long) random.nextInt(1000));
+            post.setLikeCount((long) random.nextInt(100));
+            post.setDislikeCount((long) random.nextInt(10));
+            post.setUser(user);
+            posts.add(post);
+            
+            Comment comment = new Comment();
+            comment.setId((long) i);
+            comment.setAuthor(user.getUsername());
+            comment.setContent(BenchmarkData.sentence(random, vocabulary, 20));
+            comment.setCreatedDate(now);
+            comment.setModifiedDate(now);
+            comment.setPost(post);
+            comment.setUser(user);
+            comments.add(comment);
+        }
+    }
+    
+    private static String text(Random random, String[] vocabulary, int length) {
+        StringBuilder text = new StringBuilder(length + 16);
+        while (text.length() < length) {
+            text.append(vocabulary[random.nextInt(vocabulary.length)]).append(' ');
+        }
+        return text.substring(0, length);
+    }
+    
+    @Benchmark
+    public List<PostResponse> mapPostResponses() {
+        return posts.stream().map(PostResponse::new).collect(Collectors.toList());
+    }
+    
+    @Benchmark
+    public byte[] serializePostResponsePage() throws JsonProcessingException {
+        List<PostResponse> content = posts.stream().map(PostResponse::new).collect(Collectors.toList());
+        return objectMapper.writeValueAsBytes(new CursorPageResponse<>(content, pageSize, "cursor"));
+    }
+    
+    // 현재 피드 응답 형태: 본문 발췌만 담은 요약
+    @Benchmark
+    public byte[] serializePostSummaryPage() throws JsonProcessingException {
+        List<PostSummary> content = new ArrayList<>(posts.size());
+        for (Post post : posts) {
+            String head = post.getContent().length() > PostSummary.EXCERPT_LENGTH + 1
+                    ? post.getContent().substring(0, PostSummary.EXCERPT_LENGTH + 1)
+                    : post.getContent();
+            content.add(new PostSummary(post.getId(), post.getTitle(), post.getCategory(), post.getViewCount(),
+                    post.getLikeCount(), post.getDislikeCount(), post.getUser().getUsername(),
+                    post.getUser().getDisplayName(), post.getCreatedDate(), post.getModifiedDate(), head));
+        }
+        return objectMapper.writeValueAsBytes(new CursorPageResponse<>(content, pageSize, "cursor"));
+    }
+    
+    @Benchmark
+    public byte[] serializeCommentPage() throws JsonProcessingException {
+        List<CommentResponse> content = comments.stream().map(CommentResponse::new).collect(Collectors.toList());
+        return objectMapper.writeValueAsBytes(new CursorPageResponse<>(content, pageSize, "cursor"));
+    }
+    
+    @Benchmark
+    public byte[] serializeUserList() throws JsonProcessingException {
+        List<UserResponse> content = users.stream().map(UserResponse::new).collect(Collectors.toList());
+        return objectMapper.writeValueAsBytes(content);
+    }
+}
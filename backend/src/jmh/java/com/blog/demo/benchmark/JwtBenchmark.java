@@ -0,0 +1,70 @@
+package com.blog.demo.benchmark;
+
+import com.blog.demo.security.JwtUtil;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtUtil 토큰 발급과 검증. distinctTokens 가 캐시 크기보다 크면 캐시 교체 비용까지 측정된다.
+ * cacheTtlMs=0 이면 매번 서명을 검증한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+    
+    private static final String SECRET = "mySecretKeyForJWTHS512AlgorithmWhichMustBeAtLeast512BitsLongToBeSecureEnoughForProduction";
+    
+    @Param({"1", "1000", "100000"})
+    private int distinctTokens;
+    
+    @Param({"0", "300000"})
+    private long cacheTtlMs;
+    
+    private JwtUtil jwtUtil;
+    private String[] tokens;
+    private int next;
+    
+    @Setup
+    public void setup() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "jwtExpirationInMs", 86400000);
+        ReflectionTestUtils.setField(jwtUtil, "cacheMaxSize", 10000);
+        ReflectionTestUtils.setField(jwtUtil, "cacheTtlMs", cacheTtlMs);
+        jwtUtil.init();
+        
+        tokens = new String[distinctTokens];
+        for (int i = 0; i < distinctTokens; i++) {
+            tokens[i] = jwtUtil.generateTokenFromUsername("user" + i);
+        }
+    }
+    
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateTokenFromUsername("user");
+    }
+    
+    @Benchmark
+    public Claims validateToken() {
+        String token = tokens[next];
+        next = (next + 1) % tokens.length;
+        return jwtUtil.getVerifiedClaims(token);
+    }
+}
@@ -0,0 +1,80 @@
+package com.blog.demo.benchmark;
+
+import com.blog.demo.dto.PostSummary;
+import com.blog.demo.service.HotRanking;
+import com.blog.demo.service.PostSearchIndex;
+import com.blog.demo.service.PostService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PostService.searchPosts 를 합성 말뭉치 위에서 측정한다. 색인 조회와 결과 요약 조회(H2)가 모두 포함된다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchBenchmark {
+    
+    private static final int KEYWORD_COUNT = 256;
+    
+    @Param({"1000", "10000"})
+    private int corpusSize;
+    
+    @Param({"title", "all"})
+    private String searchType;
+    
+    private ConfigurableApplicationContext context;
+    private PostService postService;
+    private String[] keywords;
+    private int next;
+    
+    @Setup
+    public void setup() {
+        context = BenchmarkData.startApplication();
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        BenchmarkData.seedPosts(jdbcTemplate, corpusSize, BenchmarkData.seedUsers(jdbcTemplate, 50));
+        context.getBean(PostSearchIndex.class).rebuild();
+        context.getBean(HotRanking.class).rebuild();
+        postService = context.getBean(PostService.class);
+        
+        // 말뭉치에 실제로 등장하는 단어와 그 일부(부분 문자열 검색)를 섞어 사용
+        Random random = new Random(11);
+        String[] vocabulary = BenchmarkData.vocabulary();
+        keywords = new String[KEYWORD_COUNT];
+        for (int i = 0; i < KEYWORD_COUNT; i++) {
+            String word = vocabulary[random.nextInt(vocabulary.length)];
+            keywords[i] = i % 2 == 0 ? word : word.substring(0, Math.max(2, word.length() - 1));
+        }
+    }
+    
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+    
+    @Benchmark
+    public List<PostSummary> searchPosts() {
+        String keyword = keywords[next];
+        next = (next + 1) % keywords.length;
+        return postService.searchPosts(keyword, searchType);
+    }
+}
@@ -0,0 +1,90 @@
+package com.blog.demo.benchmark;
+
+import com.blog.demo.dto.LikeResponse;
+import com.blog.demo.service.CustomUserDetailsService;
+import com.blog.demo.service.PostService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 좋아요 토글과 조회수 증가 경로를 인메모리 H2 위에서 측정한다.
+ * 무작위 사용자가 무작위 게시글에 요청하므로 좋아요 추가/취소가 섞인다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WritePathBenchmark {
+    
+    @Param({"100", "10000"})
+    private int postCount;
+    
+    @Param({"10", "1000"})
+    private int userCount;
+    
+    private ConfigurableApplicationContext context;
+    private PostService postService;
+    private Authentication[] authentications;
+    private long firstPostId;
+    private final SplittableRandom random = new SplittableRandom(42);
+    
+    @Setup
+    public void setup() {
+        context = BenchmarkData.startApplication();
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        List<String> usernames = BenchmarkData.seedUsers(jdbcTemplate, userCount);
+        BenchmarkData.seedPosts(jdbcTemplate, postCount, usernames);
+        firstPostId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM posts", Long.class);
+        postService = context.getBean(PostService.class);
+        
+        CustomUserDetailsService userDetailsService = context.getBean(CustomUserDetailsService.class);
+        authentications = new Authentication[userCount];
+        for (int i = 0; i < userCount; i++) {
+            UserDetails principal = userDetailsService.loadUserByUsername(usernames.get(i));
+            authentications[i] = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+        }
+    }
+    
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+    
+    private long authenticateRandomUser() {
+        SecurityContextHolder.getContext().setAuthentication(authentications[random.nextInt(authentications.length)]);
+        return firstPostId + random.nextInt(postCount);
+    }
+    
+    @Benchmark
+    public LikeResponse toggleLike() {
+        long postId = authenticateRandomUser();
+        return postService.toggleLike(postId, random.nextBoolean() ? "like" : "dislike");
+    }
+    
+    @Benchmark
+    public void incrementViewCount() {
+        postService.incrementViewCount(authenticateRandomUser());
+    }
+}
@@ -0,0 +1,73 @@
+package com.blog.demo.loadtest;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+
+/**
+ * DataSource 를 감싸 SQL 실행마다 지정한 지연을 넣는다.
+ * 인메모리 H2 는 네트워크 왕복이 없으므로, 실제 DB 처럼 요청 스레드가 I/O 를 기다리는 상황을 재현하는 데 쓴다.
+ */
+class DbLatencyInjector implements BeanPostProcessor {
+    
+    private final long latencyMs;
+    
+    DbLatencyInjector(long latencyMs) {
+        this.latencyMs = latencyMs;
+    }
+    
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource) {
+            return proxy(DataSource.class, bean, (target, method, args) -> {
+                Object result = method.invoke(target, args);
+                return result instanceof Connection ? proxy(Connection.class, result, this::connection) : result;
+            });
+        }
+        return bean;
+    }
+    
+    private Object connection(Object target, Method method, Object[] args) throws Throwable {
+        Object result = method.invoke(target, args);
+        if (result instanceof CallableStatement) {
+            return proxy(CallableStatement.class, result, this::statement);
+        }
+        if (result instanceof PreparedStatement) {
+            return proxy(PreparedStatement.class, result, this::statement);
+        }
+        if (result instanceof Statement) {
+            return proxy(Statement.class, result, this::statement);
+        }
+        return result;
+    }
+    
+    private Object statement(Object target, Method method, Object[] args) throws Throwable {
+        if (method.getName().startsWith("execute")) {
+            Thread.sleep(latencyMs);
+        }
+        return method.invoke(target, args);
+    }
+    
+    private static Object proxy(Class<?> type, Object target, Handler handler) {
+        InvocationHandler invocationHandler = (proxy, method, args) -> {
+            try {
+                return handler.invoke(target, method, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        };
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, invocationHandler);
+    }
+    
+    private interface Handler {
+        Object invoke(Object target, Method method, Object[] args) throws Throwable;
+    }
+}
@@ -0,0 +1,68 @@
+package com.blog.demo.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 엔드포인트별 응답 시간 기록. 측정이 끝난 뒤 정렬하여 백분위를 계산한다.
+ */
+class LatencyRecorder {
+    
+    private final Map<String, Samples> samples = new ConcurrentHashMap<>();
+    
+    void record(String endpoint, long nanos, boolean success) {
+        samples.computeIfAbsent(endpoint, key -> new Samples()).add(nanos, success);
+    }
+    
+    /**
+     * 엔드포인트 이름 -> {requests, errors, rps, p50, p95, p99(ms)}
+     */
+    Map<String, Map<String, Double>> summarize(double seconds) {
+        Map<String, Map<String, Double>> result = new TreeMap<>();
+        for (Map.Entry<String, Samples> entry : samples.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().summarize(seconds));
+        }
+        return result;
+    }
+    
+    private static class Samples {
+        
+        private long[] nanos = new long[1024];
+        private int count;
+        private int errors;
+        
+        synchronized void add(long value, boolean success) {
+            if (count == nanos.length) {
+                nanos = Arrays.copyOf(nanos, count * 2);
+            }
+            nanos[count++] = value;
+            if (!success) {
+                errors++;
+            }
+        }
+        
+        synchronized Map<String, Double> summarize(double seconds) {
+            long[] sorted = Arrays.copyOf(nanos, count);
+            Arrays.sort(sorted);
+            Map<String, Double> summary = new LinkedHashMap<>();
+            summary.put("requests", (double) count);
+            summary.put("errors", (double) errors);
+            summary.put("rps", count / seconds);
+            summary.put("p50", percentile(sorted, 0.50));
+            summary.put("p95", percentile(sorted, 0.95));
+            summary.put("p99", percentile(sorted, 0.99));
+            return summary;
+        }
+        
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0.0;
+            }
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+}
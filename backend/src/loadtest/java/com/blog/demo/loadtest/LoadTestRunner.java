@@ -0,0 +1,317 @@
+package com.blog.demo.loadtest;
+
+import com.blog.demo.BlogApplication;
+import com.blog.demo.service.HotRanking;
+import com.blog.demo.service.PostSearchIndex;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 부하 테스트 진입점.
+ * 임의 포트와 인메모리 H2, S3 스텁으로 애플리케이션을 띄우고 데이터를 채운 뒤,
+ * 가상 사용자들이 실제 REST 엔드포인트를 호출하며 엔드포인트별 p50/p95/p99 와 RPS 를 측정한다.
+ * <p>
+ * 인자는 key=value 형식이다. mode=record 는 결과를 기준선 파일로 저장하고,
+ * mode=check 는 기준선과 비교하여 허용 범위를 넘는 회귀가 있으면 종료 코드 1 로 끝난다.
+ * threads=virtual 과 dbLatencyMs/s3LatencyMs 를 함께 주면 I/O 지연 상황에서 가상 스레드 모드와 플랫폼 스레드 모드를 비교할 수 있다.
+ */
+public class LoadTestRunner {
+    
+    private static final String[] CATEGORIES = {"자유", "유머", "질문", "정보"};
+    private static final int BATCH_SIZE = 1000;
+    // 기준선보다 오류율이 이만큼 넘게 오르면 회귀로 본다
+    private static final double ERROR_RATE_SLACK = 0.01;
+    
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseArgs(args);
+        int users = Integer.parseInt(options.getOrDefault("users", "20"));
+        int durationSeconds = Integer.parseInt(options.getOrDefault("duration", "30"));
+        int warmupSeconds = Integer.parseInt(options.getOrDefault("warmup", "5"));
+        int postCount = Integer.parseInt(options.getOrDefault("posts", "1000"));
+        long thinkTimeMs = Long.parseLong(options.getOrDefault("thinkMs", "0"));
+        TrafficMix mix = new TrafficMix(options.getOrDefault("mix", TrafficMix.DEFAULT));
+        String mode = options.getOrDefault("mode", "report");
+        File baseline = new File(options.getOrDefault("baseline", "loadtest-baseline.json"));
+        File output = new File(options.getOrDefault("output", "target/loadtest-result.json"));
+        double tolerance = Double.parseDouble(options.getOrDefault("tolerance", "0.25"));
+        String threads = options.getOrDefault("threads", "platform");
+        long dbLatencyMs = Long.parseLong(options.getOrDefault("dbLatencyMs", "0"));
+        long s3LatencyMs = Long.parseLong(options.getOrDefault("s3LatencyMs", "0"));
+        
+        if (!mode.equals("report") && !mode.equals("record") && !mode.equals("check")) {
+            throw new IllegalArgumentException("mode must be one of report, record, check: " + mode);
+        }
+        if (!threads.equals("platform") && !threads.equals("virtual")) {
+            throw new IllegalArgumentException("threads must be platform or virtual: " + threads);
+        }
+        if (threads.equals("virtual") && Runtime.version().feature() < 21) {
+            throw new IllegalArgumentException("threads=virtual requires Java 21, running on " + Runtime.version());
+        }
+        if ("check".equals(mode) && !baseline.isFile()) {
+            throw new IllegalArgumentException("Baseline not found: " + baseline.getAbsolutePath() + " (run with mode=record first)");
+        }
+        
+        S3Stub s3Stub = new S3Stub(s3LatencyMs);
+        s3Stub.start();
+        // AWS SDK 기본 자격 증명 체인이 읽는 값. 스텁은 서명을 검사하지 않는다
+        System.setProperty("aws.accessKeyId", "loadtest");
+        System.setProperty("aws.secretAccessKey", "loadtest");
+        
+        List<String> applicationArgs = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:loadtest-" + UUID.randomUUID(),
+                "--spring.jpa.show-sql=false",
+                "--app.s3.endpoint=" + s3Stub.endpoint(),
+                "--spring.threads.virtual.enabled=" + threads.equals("virtual"),
+                "--logging.level.root=WARN"));
+        // 그 밖의 애플리케이션 속성은 app.x=... 처럼 그대로 넘긴다 (예: spring.datasource.hikari.maximum-pool-size=50)
+        options.forEach((key, value) -> {
+            if (key.contains(".")) {
+                applicationArgs.add("--" + key + "=" + value);
+            }
+        });
+        
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(BlogApplication.class)
+                .web(WebApplicationType.SERVLET);
+        if (dbLatencyMs > 0) {
+            builder.initializers(context -> context.getBeanFactory().addBeanPostProcessor(new DbLatencyInjector(dbLatencyMs)));
+        }
+        // application.properties 보다 우선하도록 명령행 인자로 넘긴다
+        ConfigurableApplicationContext context = builder.run(applicationArgs.toArray(new String[0]));
+        
+        int exitCode = 0;
+        try {
+            String baseUrl = "http://127.0.0.1:" + context.getEnvironment().getProperty("local.server.port");
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+            LatencyRecorder recorder = new LatencyRecorder();
+            
+            // 가상 사용자 계정은 실제 가입 API 로 만든다
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            List<VirtualUser> virtualUsers = new ArrayList<>();
+            List<String> keywords = new ArrayList<>();
+            long firstPostId = seed(jdbcTemplate, postCount, users, keywords);
+            for (int i = 0; i < users; i++) {
+                VirtualUser virtualUser = new VirtualUser(i, client, baseUrl, recorder, mix,
+                        firstPostId, postCount, keywords, thinkTimeMs);
+                virtualUser.register();
+                virtualUsers.add(virtualUser);
+            }
+            context.getBean(PostSearchIndex.class).rebuild();
+            context.getBean(HotRanking.class).rebuild();
+            
+            System.out.printf(Locale.ROOT, "Load test: %d users, %ds warmup + %ds measured, %d posts, mix %s%n",
+                    users, warmupSeconds, durationSeconds, postCount, mix);
+            System.out.printf(Locale.ROOT, "Threads: %s, injected latency: db %dms, s3 %dms%n", threads, dbLatencyMs, s3LatencyMs);
+            
+            long start = System.nanoTime();
+            long measureFrom = start + TimeUnit.SECONDS.toNanos(warmupSeconds);
+            long stopAt = measureFrom + TimeUnit.SECONDS.toNanos(durationSeconds);
+            ExecutorService executor = Executors.newFixedThreadPool(users);
+            List<Future<?>> futures = new ArrayList<>();
+            for (VirtualUser virtualUser : virtualUsers) {
+                virtualUser.schedule(measureFrom, stopAt);
+                futures.add(executor.submit(virtualUser));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            executor.shutdown();
+            
+            Map<String, Map<String, Double>> result = recorder.summarize(durationSeconds);
+            print(result);
+            write(output, users, durationSeconds, postCount, mix, threads, result);
+            System.out.println("Result written to " + output.getPath() + ", S3 stub received " + s3Stub.getStoredBytes() + " bytes");
+            
+            if ("record".equals(mode)) {
+                write(baseline, users, durationSeconds, postCount, mix, threads, result);
+                System.out.println("Baseline recorded to " + baseline.getPath());
+            } else if ("check".equals(mode)) {
+                exitCode = check(baseline, result, tolerance) ? 0 : 1;
+            }
+        } finally {
+            context.close();
+            s3Stub.stop();
+        }
+        System.exit(exitCode);
+    }
+    
+    private static Map<String, String> parseArgs(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            for (String token : arg.trim().split("\\s+")) {
+                if (token.isEmpty()) {
+                    continue;
+                }
+                int separator = token.indexOf('=');
+                if (separator <= 0) {
+                    throw new IllegalArgumentException("Expected key=value argument: " + token);
+                }
+                options.put(token.substring(0, separator), token.substring(separator + 1));
+            }
+        }
+        return options;
+    }
+    
+    /**
+     * 게시글 작성자용 사용자와 게시글을 JDBC 배치로 넣고 첫 게시글 id 를 반환한다.
+     * 게시글 제목에 쓴 단어 일부를 검색어 목록에 담는다.
+     */
+    private static long seed(JdbcTemplate jdbcTemplate, int postCount, int users, List<String> keywords) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int authorCount = Math.max(10, users);
+        List<Object[]> authors = new ArrayList<>();
+        for (int i = 0; i < authorCount; i++) {
+            authors.add(new Object[]{"author" + i, "{noop}password", "author" + i + "@loadtest.local", "author" + i, now});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (username, password, email, display_name, points, role, created_date) " +
+                "VALUES (?, ?, ?, ?, 0, 'USER', ?)", authors);
+        List<Long> authorIds = jdbcTemplate.queryForList("SELECT id FROM users WHERE username LIKE 'author%'", Long.class);
+        
+        Random random = new Random(42);
+        String[] vocabulary = new String[500];
+        for (int i = 0; i < vocabulary.length; i++) {
+            StringBuilder word = new StringBuilder();
+            int length = 2 + random.nextInt(4);
+            for (int j = 0; j < length; j++) {
+                word.append(random.nextBoolean() ? (char) ('가' + random.nextInt(400)) : (char) ('a' + random.nextInt(26)));
+            }
+            vocabulary[i] = word.toString();
+        }
+        for (int i = 0; i < 100; i++) {
+            keywords.add(vocabulary[random.nextInt(vocabulary.length)]);
+        }
+        
+        LocalDateTime start = LocalDateTime.now().minusDays(30);
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < postCount; i++) {
+            Timestamp created = Timestamp.valueOf(start.plusSeconds(i * 60L));
+            rows.add(new Object[]{
+                    words(random, vocabulary, 3 + random.nextInt(5)),
+                    words(random, vocabulary, 30 + random.nextInt(70)),
+                    CATEGORIES[random.nextInt(CATEGORIES.length)],
+                    authorIds.get(random.nextInt(authorIds.size())),
+                    (long) random.nextInt(1000),
+                    created,
+                    created
+            });
+            if (rows.size() == BATCH_SIZE || i == postCount - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO posts (title, content, category, user_id, view_count, created_date, modified_date) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?)", rows);
+                rows.clear();
+            }
+        }
+        return jdbcTemplate.queryForObject("SELECT MIN(id) FROM posts", Long.class);
+    }
+    
+    private static String words(Random random, String[] vocabulary, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(vocabulary[random.nextInt(vocabulary.length)]);
+        }
+        return text.toString();
+    }
+    
+    private static void print(Map<String, Map<String, Double>> result) {
+        System.out.printf(Locale.ROOT, "%-34s %9s %7s %9s %9s %9s %9s%n", "endpoint", "requests", "errors", "rps", "p50(ms)", "p95(ms)", "p99(ms)");
+        double requests = 0;
+        double errors = 0;
+        double rps = 0;
+        for (Map.Entry<String, Map<String, Double>> entry : result.entrySet()) {
+            Map<String, Double> summary = entry.getValue();
+            System.out.printf(Locale.ROOT, "%-34s %9.0f %7.0f %9.1f %9.2f %9.2f %9.2f%n", entry.getKey(),
+                    summary.get("requests"), summary.get("errors"), summary.get("rps"),
+                    summary.get("p50"), summary.get("p95"), summary.get("p99"));
+            requests += summary.get("requests");
+            errors += summary.get("errors");
+            rps += summary.get("rps");
+        }
+        System.out.printf(Locale.ROOT, "%-34s %9.0f %7.0f %9.1f%n", "total", requests, errors, rps);
+    }
+    
+    private static void write(File file, int users, int durationSeconds, int postCount, TrafficMix mix, String threads,
+                              Map<String, Map<String, Double>> result) throws IOException {
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("users", users);
+        document.put("durationSeconds", durationSeconds);
+        document.put("posts", postCount);
+        document.put("mix", mix.toString());
+        document.put("threads", threads);
+        document.put("endpoints", result);
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+        MAPPER.writeValue(file, document);
+    }
+    
+    /**
+     * 기준선 대비 p95 증가, 처리량 감소, 오류율 증가를 검사한다.
+     */
+    private static boolean check(File baselineFile, Map<String, Map<String, Double>> result, double tolerance) throws IOException {
+        Map<String, Object> document = MAPPER.readValue(baselineFile, new TypeReference<Map<String, Object>>() {});
+        Map<String, Map<String, Double>> baseline = MAPPER.convertValue(document.get("endpoints"),
+                new TypeReference<Map<String, Map<String, Double>>>() {});
+        
+        List<String> regressions = new ArrayList<>();
+        for (Map.Entry<String, Map<String, Double>> entry : baseline.entrySet()) {
+            String endpoint = entry.getKey();
+            Map<String, Double> expected = entry.getValue();
+            Map<String, Double> actual = result.get(endpoint);
+            if (actual == null) {
+                regressions.add(endpoint + ": no requests recorded");
+                continue;
+            }
+            if (actual.get("p95") > expected.get("p95") * (1 + tolerance)) {
+                regressions.add(String.format(Locale.ROOT, "%s: p95 %.2fms > baseline %.2fms", endpoint, actual.get("p95"), expected.get("p95")));
+            }
+            if (actual.get("rps") < expected.get("rps") * (1 - tolerance)) {
+                regressions.add(String.format(Locale.ROOT, "%s: rps %.1f < baseline %.1f", endpoint, actual.get("rps"), expected.get("rps")));
+            }
+            double actualErrorRate = actual.get("errors") / Math.max(1.0, actual.get("requests"));
+            double expectedErrorRate = expected.get("errors") / Math.max(1.0, expected.get("requests"));
+            if (actualErrorRate > expectedErrorRate + ERROR_RATE_SLACK) {
+                regressions.add(String.format(Locale.ROOT, "%s: error rate %.2f%% > baseline %.2f%%", endpoint,
+                        actualErrorRate * 100, expectedErrorRate * 100));
+            }
+        }
+        
+        if (regressions.isEmpty()) {
+            System.out.printf(Locale.ROOT, "No regression against %s (tolerance %.0f%%)%n", baselineFile.getPath(), tolerance * 100);
+            return true;
+        }
+        System.out.println("Regressions against " + baselineFile.getPath() + ":");
+        regressions.forEach(regression -> System.out.println("  " + regression));
+        return false;
+    }
+}
@@ -0,0 +1,83 @@
+package com.blog.demo.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 부하 테스트용 S3 호환 스텁. PUT/DELETE 를 받아 본문을 버리고 성공으로 응답한다.
+ * app.s3.endpoint 를 이 주소로 지정하면 업로드가 외부로 나가지 않는다. latencyMs 만큼 응답을 늦춰 느린 S3 를 흉내낼 수 있다.
+ */
+class S3Stub {
+    
+    private final HttpServer server;
+    private final long latencyMs;
+    private final LongAdder storedBytes = new LongAdder();
+    
+    S3Stub(long latencyMs) throws IOException {
+        this.latencyMs = latencyMs;
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::handle);
+        // 지연 중인 요청이 다른 요청을 막지 않도록 요청마다 스레드를 쓴다
+        server.setExecutor(Executors.newCachedThreadPool());
+    }
+    
+    void start() {
+        server.start();
+    }
+    
+    void stop() {
+        server.stop(0);
+    }
+    
+    String endpoint() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+    
+    long getStoredBytes() {
+        return storedBytes.sum();
+    }
+    
+    private void handle(HttpExchange exchange) throws IOException {
+        MessageDigest md5 = newMd5();
+        try (InputStream body = exchange.getRequestBody()) {
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = body.read(buffer)) != -1) {
+                md5.update(buffer, 0, read);
+                storedBytes.add(read);
+            }
+        }
+        if (latencyMs > 0) {
+            try {
+                Thread.sleep(latencyMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if ("DELETE".equals(exchange.getRequestMethod())) {
+            exchange.sendResponseHeaders(204, -1);
+        } else {
+            // SDK 가 PutObject 응답의 ETag 를 본문 MD5 와 비교하므로 실제 값을 돌려준다
+            exchange.getResponseHeaders().add("ETag", "\"" + HexFormat.of().formatHex(md5.digest()) + "\"");
+            exchange.sendResponseHeaders(200, -1);
+        }
+        exchange.close();
+    }
+    
+    private static MessageDigest newMd5() {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.blog.demo.loadtest;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * 시나리오별 가중치. "feed:40,detail:25,search:10" 형식으로 지정한다.
+ */
+class TrafficMix {
+    
+    static final String DEFAULT = "feed:40,detail:25,search:10,like:10,comment:5,login:5,upload:5";
+    
+    private final Map<VirtualUser.Scenario, Integer> weights = new EnumMap<>(VirtualUser.Scenario.class);
+    private final VirtualUser.Scenario[] scenarios;
+    private final int[] cumulative;
+    private final int total;
+    
+    TrafficMix(String spec) {
+        for (String part : spec.split(",")) {
+            String[] pair = part.trim().split(":");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry: " + part);
+            }
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight > 0) {
+                weights.put(VirtualUser.Scenario.valueOf(pair[0].trim().toUpperCase(Locale.ROOT)), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("Traffic mix has no scenarios: " + spec);
+        }
+        
+        scenarios = weights.keySet().toArray(new VirtualUser.Scenario[0]);
+        cumulative = new int[scenarios.length];
+        int sum = 0;
+        for (int i = 0; i < scenarios.length; i++) {
+            sum += weights.get(scenarios[i]);
+            cumulative[i] = sum;
+        }
+        total = sum;
+    }
+    
+    VirtualUser.Scenario pick(Random random) {
+        int value = random.nextInt(total);
+        for (int i = 0; i < cumulative.length; i++) {
+            if (value < cumulative[i]) {
+                return scenarios[i];
+            }
+        }
+        return scenarios[scenarios.length - 1];
+    }
+    
+    @Override
+    public String toString() {
+        return weights.toString();
+    }
+}
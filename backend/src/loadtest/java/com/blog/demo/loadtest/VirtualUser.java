@@ -0,0 +1,200 @@
+package com.blog.demo.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 가상 사용자 한 명. 자기 계정으로 로그인한 뒤 트래픽 구성 비율에 따라 시나리오를 반복 실행한다.
+ * 워밍업 구간의 요청은 기록하지 않는다.
+ */
+class VirtualUser implements Runnable {
+    
+    enum Scenario {
+        FEED, DETAIL, SEARCH, LIKE, COMMENT, LOGIN, UPLOAD
+    }
+    
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final byte[] UPLOAD_CONTENT = new byte[4096];
+    
+    private final HttpClient client;
+    private final String baseUrl;
+    private final String username;
+    private final String password;
+    private final LatencyRecorder recorder;
+    private final TrafficMix mix;
+    private final long firstPostId;
+    private final int postCount;
+    private final List<String> keywords;
+    private final long thinkTimeMs;
+    private final Random random;
+    
+    private long measureFromNanos;
+    private long stopAtNanos;
+    private String token;
+    
+    VirtualUser(int index, HttpClient client, String baseUrl, LatencyRecorder recorder, TrafficMix mix,
+                long firstPostId, int postCount, List<String> keywords, long thinkTimeMs) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.username = "vu" + index;
+        this.password = "password" + index;
+        this.recorder = recorder;
+        this.mix = mix;
+        this.firstPostId = firstPostId;
+        this.postCount = postCount;
+        this.keywords = keywords;
+        this.thinkTimeMs = thinkTimeMs;
+        this.random = new Random(index);
+    }
+    
+    String getUsername() {
+        return username;
+    }
+    
+    void register() throws IOException, InterruptedException {
+        String body = MAPPER.writeValueAsString(java.util.Map.of(
+                "username", username, "password", password, "email", username + "@loadtest.local"));
+        HttpResponse<String> response = client.send(json("/api/auth/register", body).build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException("Registration failed for " + username + ": " + response.statusCode());
+        }
+        token = MAPPER.readTree(response.body()).path("token").asText();
+    }
+    
+    void schedule(long measureFromNanos, long stopAtNanos) {
+        this.measureFromNanos = measureFromNanos;
+        this.stopAtNanos = stopAtNanos;
+    }
+    
+    @Override
+    public void run() {
+        while (System.nanoTime() < stopAtNanos) {
+            try {
+                execute(mix.pick(random));
+                if (thinkTimeMs > 0) {
+                    Thread.sleep(thinkTimeMs);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException e) {
+                // 연결 오류는 send 에서 실패로 기록됨
+            }
+        }
+    }
+    
+    private void execute(Scenario scenario) throws IOException, InterruptedException {
+        long postId = firstPostId + random.nextInt(postCount);
+        switch (scenario) {
+            case FEED: {
+                HttpResponse<String> page = send("GET /api/posts", get("/api/posts?size=20"));
+                // 일부 사용자는 다음 페이지까지 넘겨 본다
+                if (page != null && random.nextInt(3) == 0) {
+                    JsonNode cursor = MAPPER.readTree(page.body()).path("nextCursor");
+                    if (cursor.isTextual()) {
+                        send("GET /api/posts", get("/api/posts?size=20&cursor=" + encode(cursor.asText())));
+                    }
+                }
+                break;
+            }
+            case DETAIL:
+                send("GET /api/posts/{id}", get("/api/posts/" + postId));
+                send("GET /api/comments/post/{postId}", get("/api/comments/post/" + postId));
+                send("POST /api/posts/{id}/view", authorized(HttpRequest.newBuilder(uri("/api/posts/" + postId + "/view"))
+                        .POST(HttpRequest.BodyPublishers.noBody())));
+                break;
+            case SEARCH:
+                String keyword = keywords.get(random.nextInt(keywords.size()));
+                send("GET /api/posts/search", get("/api/posts/search?searchType=all&keyword=" + encode(keyword)));
+                break;
+            case LIKE:
+                send("POST /api/posts/{id}/like", authorized(HttpRequest.newBuilder(uri("/api/posts/" + postId + "/like?type="
+                        + (random.nextInt(4) == 0 ? "dislike" : "like"))).POST(HttpRequest.BodyPublishers.noBody())));
+                break;
+            case COMMENT:
+                send("POST /api/comments/post/{postId}", authorized(json("/api/comments/post/" + postId,
+                        "{\"content\":\"load test comment " + random.nextInt(100000) + "\"}")));
+                break;
+            case LOGIN: {
+                String body = MAPPER.writeValueAsString(java.util.Map.of("username", username, "password", password));
+                HttpResponse<String> response = send("POST /api/auth/login", json("/api/auth/login", body));
+                if (response != null && response.statusCode() == 200) {
+                    token = MAPPER.readTree(response.body()).path("token").asText();
+                }
+                break;
+            }
+            case UPLOAD:
+                send("POST /api/files/upload/{postId}", authorized(multipart("/api/files/upload/" + postId)));
+                break;
+            default:
+                break;
+        }
+    }
+    
+    private HttpResponse<String> send(String endpoint, HttpRequest.Builder request) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            record(endpoint, start, response.statusCode() / 100 == 2);
+            return response;
+        } catch (IOException e) {
+            record(endpoint, start, false);
+            throw e;
+        }
+    }
+    
+    private void record(String endpoint, long start, boolean success) {
+        if (start >= measureFromNanos) {
+            recorder.record(endpoint, System.nanoTime() - start, success);
+        }
+    }
+    
+    private HttpRequest.Builder get(String path) {
+        return authorized(HttpRequest.newBuilder(uri(path)).GET());
+    }
+    
+    private HttpRequest.Builder json(String path, String body) {
+        return HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+    }
+    
+    private HttpRequest.Builder multipart(String path) throws IOException {
+        String boundary = "loadtest" + random.nextLong();
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.write(("--" + boundary + "\r\n" +
+                "Content-Disposition: form-data; name=\"files\"; filename=\"loadtest.txt\"\r\n" +
+                "Content-Type: text/plain\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        body.write(UPLOAD_CONTENT);
+        body.write(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        return HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()));
+    }
+    
+    private HttpRequest.Builder authorized(HttpRequest.Builder request) {
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return request;
+    }
+    
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+    
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,56 @@
+package com.blog.demo.config;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 블로킹 I/O 를 하는 백그라운드 작업용 스레드 팩토리.
+ * spring.threads.virtual.enabled=true 이고 Java 21 이상에서 실행 중이면 가상 스레드를, 아니면 데몬 플랫폼 스레드를 만든다.
+ * Tomcat 요청 처리와 @Scheduled 작업은 같은 속성으로 Spring Boot 가 직접 전환한다.
+ */
+@Component
+public class BlockingThreadFactories {
+    
+    private static final Logger log = LoggerFactory.getLogger(BlockingThreadFactories.class);
+    
+    @Autowired
+    private Environment environment;
+    
+    private boolean virtual;
+    
+    @PostConstruct
+    public void init() {
+        virtual = Threading.VIRTUAL.isActive(environment);
+        if (virtual) {
+            log.info("Virtual threads enabled for request handling and blocking I/O");
+        } else if (environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)) {
+            log.warn("spring.threads.virtual.enabled is set but Java {} does not support virtual threads; using platform threads",
+                    Runtime.version().feature());
+        }
+    }
+    
+    public boolean isVirtual() {
+        return virtual;
+    }
+    
+    public ThreadFactory newThreadFactory(String namePrefix) {
+        if (virtual) {
+            return new VirtualThreadTaskExecutor(namePrefix + "-").getVirtualThreadFactory();
+        }
+        AtomicInteger threadNumber = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + "-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
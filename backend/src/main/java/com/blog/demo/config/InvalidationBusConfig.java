@@ -0,0 +1,49 @@
+package com.blog.demo.config;
+
+import com.blog.demo.service.InvalidationBus;
+import com.blog.demo.service.LoopbackInvalidationBus;
+import com.blog.demo.service.MulticastInvalidationBus;
+import com.blog.demo.service.NoopInvalidationBus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+/**
+ * 인스턴스 간 캐시 무효화 전송 방식 선택.
+ * none(기본): 단일 인스턴스. loopback: 자기 변경을 되돌려 받는 수신 경로 테스트용.
+ * multicast: 같은 네트워크(또는 같은 호스트)의 여러 JVM.
+ */
+@Configuration
+public class InvalidationBusConfig {
+    
+    @Bean(destroyMethod = "stop")
+    @ConditionalOnProperty(name = "app.invalidation.transport", havingValue = "none", matchIfMissing = true)
+    public InvalidationBus noopInvalidationBus() {
+        return new NoopInvalidationBus();
+    }
+    
+    @Bean(destroyMethod = "stop")
+    @ConditionalOnProperty(name = "app.invalidation.transport", havingValue = "loopback")
+    public InvalidationBus loopbackInvalidationBus() {
+        return new LoopbackInvalidationBus();
+    }
+    
+    @Bean(destroyMethod = "stop")
+    @ConditionalOnProperty(name = "app.invalidation.transport", havingValue = "multicast")
+    public InvalidationBus multicastInvalidationBus(
+            @Value("${app.invalidation.multicast.group:239.255.42.99}") String group,
+            @Value("${app.invalidation.multicast.port:45588}") int port,
+            @Value("${app.invalidation.multicast.interface:}") String interfaceName,
+            @Value("${app.invalidation.multicast.ttl:1}") int ttl,
+            @Value("${app.invalidation.multicast.maxDatagramBytes:1400}") int maxDatagramBytes) throws UnknownHostException {
+        InetAddress address = InetAddress.getByName(group);
+        if (!address.isMulticastAddress()) {
+            throw new IllegalStateException("Not a multicast address: " + group);
+        }
+        return new MulticastInvalidationBus(address, port, interfaceName, ttl, maxDatagramBytes);
+    }
+}
@@ -0,0 +1,40 @@
+package com.blog.demo.config;
+
+import com.blog.demo.security.JwtUtil;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 서비스 메서드 타이머(@Timed)와 캐시 지표 등록.
+ * HTTP, Hikari, Hibernate 지표는 Actuator 가 자동으로 등록한다.
+ */
+@Configuration
+public class MetricsConfig {
+    
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+    
+    @Bean
+    public MeterBinder jwtCacheMetrics(JwtUtil jwtUtil) {
+        return registry -> {
+            FunctionCounter.builder("jwt.cache.requests", jwtUtil, JwtUtil::getCacheHits)
+                    .description("Verified JWT cache lookups")
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("jwt.cache.requests", jwtUtil, JwtUtil::getCacheMisses)
+                    .description("Verified JWT cache lookups")
+                    .tag("result", "miss")
+                    .register(registry);
+            Gauge.builder("jwt.cache.size", jwtUtil, JwtUtil::getCacheSize)
+                    .description("Cached verified JWTs")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,45 @@
+package com.blog.demo.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 요청마다 실행된 SQL 문장 수를 센다.
+ * Hibernate 가 직접 생성하므로(hibernate.session_factory.statement_inspector) 스레드 로컬 카운터를 쓴다.
+ * startCapture 이후에는 실행된 SQL 문장 자체도 기록한다 (쿼리 실행 계획 테스트용).
+ */
+public class QueryCountInspector implements StatementInspector {
+    
+    private static final ThreadLocal<int[]> COUNT = ThreadLocal.withInitial(() -> new int[1]);
+    private static final ThreadLocal<List<String>> CAPTURED = new ThreadLocal<>();
+    
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        List<String> captured = CAPTURED.get();
+        if (captured != null) {
+            captured.add(sql);
+        }
+        return sql;
+    }
+    
+    public static void reset() {
+        COUNT.get()[0] = 0;
+    }
+    
+    public static int current() {
+        return COUNT.get()[0];
+    }
+    
+    public static void startCapture() {
+        CAPTURED.set(new ArrayList<>());
+    }
+    
+    public static List<String> stopCapture() {
+        List<String> captured = CAPTURED.get();
+        CAPTURED.remove();
+        return captured != null ? captured : List.of();
+    }
+}
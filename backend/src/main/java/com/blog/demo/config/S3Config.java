@@ -1,19 +1,53 @@
 package com.blog.demo.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
 import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
 import software.amazon.awssdk.regions.Region;
-import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.S3AsyncClientBuilder;
+
+import java.net.URI;
 
 @Configuration
 public class S3Config {
     
-    @Bean
-    public S3Client s3Client() {
-        return S3Client.builder()
-                .region(Region.AP_NORTHEAST_2)
+    @Value("${app.s3.region:ap-northeast-2}")
+    private String region;
+    
+    // 로컬 S3 호환 서버(MinIO, LocalStack 등)를 쓸 때만 지정
+    @Value("${app.s3.endpoint:}")
+    private String endpoint;
+    
+    @Value("${app.upload.multipartThresholdBytes:16777216}")
+    private long multipartThresholdBytes;
+    
+    @Value("${app.upload.partSizeBytes:8388608}")
+    private long partSizeBytes;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Bean(destroyMethod = "close")
+    public S3AsyncClient s3AsyncClient() {
+        S3AsyncClientBuilder builder = S3AsyncClient.builder()
+                .region(Region.of(region))
                 .credentialsProvider(DefaultCredentialsProvider.create())
-                .build();
+                .overrideConfiguration(override -> override
+                        .addExecutionInterceptor(new S3MetricsInterceptor(meterRegistry)))
+                .multipartEnabled(true)
+                .multipartConfiguration(multipart -> multipart
+                        .thresholdInBytes(multipartThresholdBytes)
+                        .minimumPartSizeInBytes(partSizeBytes));
+        
+        if (StringUtils.hasText(endpoint)) {
+            builder.endpointOverride(URI.create(endpoint))
+                    .forcePathStyle(true);
+        }
+        return builder.build();
     }
-}
\ No newline at end of file
+}
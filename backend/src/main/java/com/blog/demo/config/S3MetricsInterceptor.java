@@ -0,0 +1,56 @@
+package com.blog.demo.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * S3 API 호출마다 s3.requests 타이머에 지연 시간을 기록한다. operation 과 outcome(success/error) 태그로 구분한다.
+ * 멀티파트 업로드는 파트 단위(UploadPart 등)로 기록된다.
+ */
+public class S3MetricsInterceptor implements ExecutionInterceptor {
+    
+    private static final ExecutionAttribute<Long> START_NANOS = new ExecutionAttribute<>("MetricsStartNanos");
+    
+    private final MeterRegistry meterRegistry;
+    
+    public S3MetricsInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+    
+    @Override
+    public void beforeExecution(Context.BeforeExecution context, ExecutionAttributes executionAttributes) {
+        executionAttributes.putAttribute(START_NANOS, System.nanoTime());
+    }
+    
+    @Override
+    public void afterExecution(Context.AfterExecution context, ExecutionAttributes executionAttributes) {
+        record(executionAttributes, "success", "none");
+    }
+    
+    @Override
+    public void onExecutionFailure(Context.FailedExecution context, ExecutionAttributes executionAttributes) {
+        record(executionAttributes, "error", context.exception().getClass().getSimpleName());
+    }
+    
+    private void record(ExecutionAttributes executionAttributes, String outcome, String exception) {
+        Long start = executionAttributes.getAttribute(START_NANOS);
+        if (start == null) {
+            return;
+        }
+        Timer.builder("s3.requests")
+                .description("S3 API call latency")
+                .tag("operation", String.valueOf(executionAttributes.getAttribute(SdkExecutionAttribute.OPERATION_NAME)))
+                .tag("outcome", outcome)
+                .tag("exception", exception)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+}
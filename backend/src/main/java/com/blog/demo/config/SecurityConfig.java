@@ -1,9 +1,12 @@
 package com.blog.demo.config;
 
+import com.blog.demo.security.BoundedPasswordEncoder;
 import com.blog.demo.security.JwtAuthenticationEntryPoint;
 import com.blog.demo.security.JwtAuthenticationFilter;
 import com.blog.demo.service.CustomUserDetailsService;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -34,14 +37,29 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // 0 이면 코어 수의 절반
+    @Value("${app.auth.hashThreads:0}")
+    private int hashThreads;
+
+    @Value("${app.auth.hashQueueCapacity:64}")
+    private int hashQueueCapacity;
+
+    @Value("${app.auth.hashTimeoutMs:5000}")
+    private long hashTimeoutMs;
+
     @Bean
     public JwtAuthenticationFilter jwtAuthenticationFilter() {
         return new JwtAuthenticationFilter();
     }
 
-    @Bean
+    // 로그인(DaoAuthenticationProvider)과 가입 모두 이 인코더를 거치므로 BCrypt 는 전용 스레드 풀에서만 실행된다
+    @Bean(destroyMethod = "shutdown")
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        int threads = hashThreads > 0 ? hashThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), threads, hashQueueCapacity, hashTimeoutMs, meterRegistry);
     }
 
     @Bean
@@ -66,6 +84,8 @@ public class SecurityConfig {
             .authorizeHttpRequests(auth -> 
                 auth.requestMatchers("/api/auth/**").permitAll()
                     .requestMatchers("/h2-console/**").permitAll()
+                    .requestMatchers("/actuator/health").permitAll()
+                    .requestMatchers("/actuator/**").hasRole("ADMIN")
                     .requestMatchers(org.springframework.http.HttpMethod.GET, "/api/posts", "/api/posts/*").permitAll()
                     .requestMatchers(org.springframework.http.HttpMethod.POST, "/api/posts").authenticated()
                     .requestMatchers(org.springframework.http.HttpMethod.PUT, "/api/posts/*").authenticated()
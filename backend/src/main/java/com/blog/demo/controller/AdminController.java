@@ -1,21 +1,26 @@
 package com.blog.demo.controller;
 
-import com.blog.demo.dto.PostResponse;
-import com.blog.demo.dto.UserResponse;
-import com.blog.demo.entity.Post;
-import com.blog.demo.entity.User;
+import com.blog.demo.dto.AdminUserSummary;
+import com.blog.demo.dto.BulkModerationRequest;
+import com.blog.demo.dto.CursorPageResponse;
 import com.blog.demo.entity.UserSuspension;
 import com.blog.demo.service.AdminService;
+import com.blog.demo.service.BulkModerationService;
 import com.blog.demo.service.CustomUserDetailsService;
+import com.blog.demo.service.ModerationJob;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 
 @RestController
@@ -29,46 +34,73 @@ public class AdminController {
     @Autowired
     private CustomUserDetailsService userDetailsService;
     
+    @Autowired
+    private BulkModerationService bulkModerationService;
+    
+    // 목록 전체를 메모리에 올리지 않고 응답 스트림에 바로 쓴다 (gzip 은 server.compression 설정)
     @GetMapping("/users")
-    public ResponseEntity<List<UserResponse>> getAllUsers() {
+    public void getAllUsers(HttpServletResponse response) throws IOException {
+        // 관리자 권한 확인
+        if (!isAdmin()) {
+            System.out.println("Access denied: Not admin");
+            response.setStatus(HttpStatus.FORBIDDEN.value());
+            return;
+        }
+        
+        streamJson(response, adminService::writeAllUsers);
+    }
+    
+    // 관리 화면용 사용자 목록: 정렬(recent|username|points), 아이디 접두어, 역할, 정지 여부로 거른 한 페이지
+    @GetMapping("/users/directory")
+    public ResponseEntity<CursorPageResponse<AdminUserSummary>> getUserDirectory(
+            @RequestParam(defaultValue = "recent") String sortBy,
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) String role,
+            @RequestParam(required = false) Boolean suspended,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        if (!isAdmin()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
         try {
-            // 관리자 권한 확인
-            if (!isAdmin()) {
-                System.out.println("Access denied: Not admin");
-                return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
-            }
-            
-            List<User> users = adminService.getAllUsers();
-            List<UserResponse> userResponses = users.stream()
-                    .map(UserResponse::new)
-                    .collect(java.util.stream.Collectors.toList());
-            return ResponseEntity.ok(userResponses);
-        } catch (Exception e) {
-            e.printStackTrace();
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+            return ResponseEntity.ok(adminService.getUserDirectory(sortBy, keyword, role, suspended, cursor, size));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
         }
     }
     
     @GetMapping("/posts")
-    public ResponseEntity<List<PostResponse>> getAllPosts() {
+    public void getAllPosts(HttpServletResponse response) throws IOException {
+        // 관리자 권한 확인
+        if (!isAdmin()) {
+            System.out.println("Access denied: Not admin");
+            response.setStatus(HttpStatus.FORBIDDEN.value());
+            return;
+        }
+        
+        streamJson(response, adminService::writeAllPosts);
+    }
+    
+    private void streamJson(HttpServletResponse response, JsonWriter writer) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
         try {
-            // 관리자 권한 확인
-            if (!isAdmin()) {
-                System.out.println("Access denied: Not admin");
-                return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
-            }
-            
-            List<Post> posts = adminService.getAllPosts();
-            List<PostResponse> postResponses = posts.stream()
-                    .map(PostResponse::new)
-                    .collect(java.util.stream.Collectors.toList());
-            return ResponseEntity.ok(postResponses);
-        } catch (Exception e) {
+            writer.write(response.getOutputStream());
+        } catch (IOException | RuntimeException e) {
             e.printStackTrace();
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+            // 이미 일부를 보냈으면 상태 코드를 바꿀 수 없으므로 연결을 끊어 잘린 응답임을 알린다
+            if (response.isCommitted()) {
+                throw e;
+            }
+            response.reset();
+            response.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
         }
     }
     
+    private interface JsonWriter {
+        void write(OutputStream out) throws IOException;
+    }
+    
     @PostMapping("/users/{userId}/suspend")
     public ResponseEntity<Void> suspendUser(@PathVariable Long userId, @RequestBody Map<String, Object> request) {
         try {
@@ -138,6 +170,45 @@ public class AdminController {
         }
     }
     
+    @PostMapping("/posts/bulk/hide")
+    public ResponseEntity<ModerationJob> bulkHidePosts(@RequestBody BulkModerationRequest request) {
+        return submitBulkModeration(BulkModerationService.HIDE, request);
+    }
+    
+    @PostMapping("/posts/bulk/unhide")
+    public ResponseEntity<ModerationJob> bulkUnhidePosts(@RequestBody BulkModerationRequest request) {
+        return submitBulkModeration(BulkModerationService.UNHIDE, request);
+    }
+    
+    @PostMapping("/posts/bulk/delete")
+    public ResponseEntity<ModerationJob> bulkDeletePosts(@RequestBody BulkModerationRequest request) {
+        return submitBulkModeration(BulkModerationService.DELETE, request);
+    }
+    
+    @GetMapping("/moderation-jobs/{jobId}")
+    public ResponseEntity<ModerationJob> getModerationJob(@PathVariable String jobId) {
+        if (!isAdmin()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        try {
+            return ResponseEntity.ok(bulkModerationService.getJob(jobId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    // 작업은 백그라운드에서 실행되고, 진행 상황은 /moderation-jobs/{jobId} 로 조회한다
+    private ResponseEntity<ModerationJob> submitBulkModeration(String action, BulkModerationRequest request) {
+        if (!isAdmin()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(bulkModerationService.submit(action, request));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
     @GetMapping("/users/{userId}/suspension")
     public ResponseEntity<UserSuspension> getUserSuspension(@PathVariable Long userId) {
         try {
@@ -181,17 +252,7 @@ public class AdminController {
             
             System.out.println("Has ROLE_ADMIN: " + hasAdminRole);
             
-            // 추가로 데이터베이스에서 사용자 정보 확인
-            try {
-                User user = adminService.getUserByUsername(username);
-                if (user != null) {
-                    System.out.println("User from DB: " + user.getUsername() + ", Role: " + user.getRole());
-                    return user.getRole().name().equals("ADMIN");
-                }
-            } catch (Exception e) {
-                System.out.println("Error fetching user from DB: " + e.getMessage());
-            }
-            
+            // 권한은 UserPrincipal 캐시에서 오며, 역할이 바뀌면 캐시가 무효화되므로 DB 를 다시 조회하지 않는다
             return hasAdminRole;
         } catch (Exception e) {
             System.out.println("Error checking admin role: " + e.getMessage());
@@ -1,11 +1,14 @@
 package com.blog.demo.controller;
 
 import com.blog.demo.dto.*;
+import com.blog.demo.security.AuthThrottledException;
 import com.blog.demo.service.AuthService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -21,23 +24,35 @@ public class AuthController {
             AuthResponse response = authService.register(request);
             return ResponseEntity.ok(response);
         } catch (RuntimeException e) {
-            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+            return errorResponse(e);
         }
     }
 
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody LoginRequest request) {
+    public ResponseEntity<?> login(@RequestBody LoginRequest request, HttpServletRequest httpRequest) {
         try {
-            AuthResponse response = authService.login(request);
+            AuthResponse response = authService.login(request, httpRequest.getRemoteAddr());
             return ResponseEntity.ok(response);
         } catch (Exception e) {
-            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+            return errorResponse(e);
+        }
+    }
+    
+    // 해시 큐가 가득 찼거나 실패 한도를 넘은 경우는 429 로 재시도 시점을 알려준다
+    private ResponseEntity<?> errorResponse(Exception e) {
+        AuthThrottledException throttled = AuthThrottledException.find(e);
+        if (throttled != null) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(throttled.getRetryAfterSeconds()))
+                    .body(new ErrorResponse(throttled.getMessage(), "Too Many Requests"));
         }
+        return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
     }
 
     @PostMapping("/logout")
-    public ResponseEntity<String> logout() {
-        SecurityContextHolder.clearContext();
+    public ResponseEntity<String> logout(@RequestHeader(value = "Authorization", required = false) String authorization) {
+        String token = authorization != null && authorization.startsWith("Bearer ") ? authorization.substring(7) : null;
+        authService.logout(token);
         return ResponseEntity.ok("Logged out successfully");
     }
 
@@ -52,9 +67,10 @@ public class AuthController {
     }
     
     @GetMapping("/debug/users")
-    public ResponseEntity<?> getAllUsers() {
+    public ResponseEntity<?> getAllUsers(@RequestParam(required = false) String cursor,
+                                         @RequestParam(required = false) Integer size) {
         try {
-            return ResponseEntity.ok(authService.getAllUsers());
+            return ResponseEntity.ok(authService.getAllUsers(cursor, size));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
         }
@@ -2,12 +2,14 @@ package com.blog.demo.controller;
 
 import com.blog.demo.dto.CommentRequest;
 import com.blog.demo.dto.CommentResponse;
+import com.blog.demo.dto.CursorPageResponse;
 import com.blog.demo.service.CommentService;
+import com.blog.demo.service.ContentVersions;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import java.util.List;
 
 @RestController
 @RequestMapping("/api/comments")
@@ -17,10 +19,26 @@ public class CommentController {
     @Autowired
     private CommentService commentService;
     
+    @Autowired
+    private ContentVersions contentVersions;
+    
     @GetMapping("/post/{postId}")
-    public ResponseEntity<List<CommentResponse>> getCommentsByPostId(@PathVariable Long postId) {
-        List<CommentResponse> comments = commentService.getCommentsByPostId(postId);
-        return ResponseEntity.ok(comments);
+    public ResponseEntity<CursorPageResponse<CommentResponse>> getCommentsByPostId(
+            @PathVariable Long postId,
+            @RequestParam(defaultValue = "asc") String order,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            HttpServletRequest httpRequest) {
+        ContentVersions.Stamp stamp = contentVersions.comments(postId);
+        if (ConditionalGet.isNotModified(httpRequest, stamp)) {
+            return ConditionalGet.notModified(stamp);
+        }
+        try {
+            CursorPageResponse<CommentResponse> comments = commentService.getCommentsByPostId(postId, order, cursor, size);
+            return ConditionalGet.ok(stamp, comments);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
     
     @PostMapping("/post/{postId}")
@@ -0,0 +1,40 @@
+package com.blog.demo.controller;
+
+import com.blog.demo.service.ContentVersions;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * ETag / Last-Modified 조건부 GET 응답.
+ * 본문을 조회하기 전에 ContentVersions 의 값만으로 If-None-Match, If-Modified-Since 를 판단한다.
+ * Cache-Control: no-cache 로 클라이언트가 매번 재검증하게 하며, 이 값이 있으면 Spring Security 의 기본 no-store 헤더는 붙지 않는다.
+ */
+final class ConditionalGet {
+    
+    private ConditionalGet() {
+    }
+    
+    static boolean isNotModified(HttpServletRequest request, ContentVersions.Stamp stamp) {
+        // 응답 없이 만든 ServletWebRequest 는 헤더를 쓰지 않고 판단만 한다
+        return new ServletWebRequest(request).checkNotModified(stamp.getETag(), stamp.getLastModified());
+    }
+    
+    static <T> ResponseEntity<T> notModified(ContentVersions.Stamp stamp) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(stamp.getETag())
+                .lastModified(stamp.getLastModified())
+                .cacheControl(CacheControl.noCache())
+                .build();
+    }
+    
+    static <T> ResponseEntity<T> ok(ContentVersions.Stamp stamp, T body) {
+        return ResponseEntity.ok()
+                .eTag(stamp.getETag())
+                .lastModified(stamp.getLastModified())
+                .cacheControl(CacheControl.noCache())
+                .body(body);
+    }
+}
@@ -1,7 +1,6 @@
 package com.blog.demo.controller;
 
 import com.blog.demo.dto.FileAttachmentResponse;
-import com.blog.demo.entity.FileAttachment;
 import com.blog.demo.entity.Post;
 import com.blog.demo.service.FileService;
 import com.blog.demo.service.PostService;
@@ -12,8 +11,9 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/files")
@@ -33,14 +33,14 @@ public class FileController {
         
         try {
             Post post = postService.getPostEntityById(postId);
-            List<FileAttachmentResponse> uploadedFiles = new ArrayList<>();
+            List<MultipartFile> nonEmptyFiles = Arrays.stream(files)
+                    .filter(file -> !file.isEmpty())
+                    .collect(Collectors.toList());
             
-            for (MultipartFile file : files) {
-                if (!file.isEmpty()) {
-                    FileAttachment fileAttachment = fileService.uploadFile(file, post);
-                    uploadedFiles.add(new FileAttachmentResponse(fileAttachment));
-                }
-            }
+            List<FileAttachmentResponse> uploadedFiles = fileService.uploadFiles(nonEmptyFiles, post)
+                    .stream()
+                    .map(FileAttachmentResponse::new)
+                    .collect(Collectors.toList());
             
             return ResponseEntity.ok(uploadedFiles);
         } catch (IOException e) {
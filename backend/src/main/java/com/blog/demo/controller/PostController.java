@@ -1,8 +1,13 @@
 package com.blog.demo.controller;
 
+import com.blog.demo.dto.CursorPageResponse;
+import com.blog.demo.dto.LikeResponse;
 import com.blog.demo.dto.PostRequest;
 import com.blog.demo.dto.PostResponse;
+import com.blog.demo.dto.PostSummary;
+import com.blog.demo.service.ContentVersions;
 import com.blog.demo.service.PostService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -17,17 +22,36 @@ public class PostController {
     @Autowired
     private PostService postService;
     
+    @Autowired
+    private ContentVersions contentVersions;
+    
     @GetMapping
-    public ResponseEntity<List<PostResponse>> getAllPosts() {
-        List<PostResponse> posts = postService.getAllPosts();
-        return ResponseEntity.ok(posts);
+    public ResponseEntity<CursorPageResponse<PostSummary>> getAllPosts(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            HttpServletRequest httpRequest) {
+        // 본문 조회 전에 버전을 읽어야 새 본문에 이전 ETag 가 붙는 쪽으로만 어긋난다
+        ContentVersions.Stamp stamp = contentVersions.feed();
+        if (ConditionalGet.isNotModified(httpRequest, stamp)) {
+            return ConditionalGet.notModified(stamp);
+        }
+        try {
+            CursorPageResponse<PostSummary> posts = postService.getAllPosts(cursor, size);
+            return ConditionalGet.ok(stamp, posts);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
     
     @GetMapping("/{id}")
-    public ResponseEntity<PostResponse> getPostById(@PathVariable Long id) {
+    public ResponseEntity<PostResponse> getPostById(@PathVariable Long id, HttpServletRequest httpRequest) {
+        ContentVersions.Stamp stamp = contentVersions.post(id);
+        if (ConditionalGet.isNotModified(httpRequest, stamp)) {
+            return ConditionalGet.notModified(stamp);
+        }
         try {
             PostResponse post = postService.getPostById(id);
-            return ResponseEntity.ok(post);
+            return ConditionalGet.ok(stamp, post);
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
@@ -60,13 +84,13 @@ public class PostController {
     }
     
     @GetMapping("/search")
-    public ResponseEntity<List<PostResponse>> searchPosts(
+    public ResponseEntity<List<PostSummary>> searchPosts(
             @RequestParam String keyword,
             @RequestParam(defaultValue = "all") String searchType) {
         if (keyword.length() < 2) {
             return ResponseEntity.ok(List.of());
         }
-        List<PostResponse> posts = postService.searchPosts(keyword, searchType);
+        List<PostSummary> posts = postService.searchPosts(keyword, searchType);
         return ResponseEntity.ok(posts);
     }
     
@@ -81,26 +105,49 @@ public class PostController {
     }
     
     @GetMapping("/category/{category}")
-    public ResponseEntity<List<PostResponse>> getPostsByCategory(@PathVariable String category) {
-        List<PostResponse> posts = postService.getPostsByCategory(category);
-        return ResponseEntity.ok(posts);
+    public ResponseEntity<CursorPageResponse<PostSummary>> getPostsByCategory(
+            @PathVariable String category,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            HttpServletRequest httpRequest) {
+        ContentVersions.Stamp stamp = contentVersions.feed();
+        if (ConditionalGet.isNotModified(httpRequest, stamp)) {
+            return ConditionalGet.notModified(stamp);
+        }
+        try {
+            CursorPageResponse<PostSummary> posts = postService.getPostsByCategory(category, cursor, size);
+            return ConditionalGet.ok(stamp, posts);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
     
     @PostMapping("/{id}/like")
-    public ResponseEntity<Void> toggleLike(@PathVariable Long id, @RequestParam String type) {
+    public ResponseEntity<LikeResponse> toggleLike(@PathVariable Long id, @RequestParam String type) {
         try {
-            postService.toggleLike(id, type);
-            return ResponseEntity.ok().build();
+            LikeResponse like = postService.toggleLike(id, type);
+            return ResponseEntity.ok(like);
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().build();
         }
     }
     
     @GetMapping("/sorted")
-    public ResponseEntity<List<PostResponse>> getPostsSorted(
+    public ResponseEntity<CursorPageResponse<PostSummary>> getPostsSorted(
             @RequestParam(defaultValue = "recent") String sortBy,
-            @RequestParam(defaultValue = "all") String category) {
-        List<PostResponse> posts = postService.getAllPostsSorted(sortBy, category);
-        return ResponseEntity.ok(posts);
+            @RequestParam(defaultValue = "all") String category,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            HttpServletRequest httpRequest) {
+        ContentVersions.Stamp stamp = contentVersions.feed();
+        if (ConditionalGet.isNotModified(httpRequest, stamp)) {
+            return ConditionalGet.notModified(stamp);
+        }
+        try {
+            CursorPageResponse<PostSummary> posts = postService.getAllPostsSorted(sortBy, category, cursor, size);
+            return ConditionalGet.ok(stamp, posts);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 }
\ No newline at end of file
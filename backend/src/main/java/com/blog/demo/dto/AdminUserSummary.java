@@ -0,0 +1,147 @@
+package com.blog.demo.dto;
+
+import com.blog.demo.entity.User;
+import com.blog.demo.entity.UserSuspension;
+import java.time.LocalDateTime;
+
+/**
+ * 관리자 사용자 목록의 한 행. 게시글/댓글 수와 현재 정지 상태를 함께 담는다.
+ */
+public class AdminUserSummary {
+    
+    private Long id;
+    private String username;
+    private String email;
+    private String displayName;
+    private String role;
+    private LocalDateTime createdDate;
+    private Integer points;
+    private long postCount;
+    private long commentCount;
+    private boolean suspended;
+    private String suspensionReason;
+    private LocalDateTime suspensionEndDate;
+    private boolean permanentSuspension;
+    
+    public AdminUserSummary(User user, long postCount, long commentCount, UserSuspension suspension) {
+        this.id = user.getId();
+        this.username = user.getUsername();
+        this.email = user.getEmail();
+        this.displayName = user.getDisplayName();
+        this.role = user.getRole().name();
+        this.createdDate = user.getCreatedDate();
+        this.points = user.getCurrentPoints();
+        this.postCount = postCount;
+        this.commentCount = commentCount;
+        if (suspension != null) {
+            this.suspended = true;
+            this.suspensionReason = suspension.getReason();
+            this.suspensionEndDate = suspension.getEndDate();
+            this.permanentSuspension = suspension.getEndDate() == null;
+        }
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getUsername() {
+        return username;
+    }
+    
+    public void setUsername(String username) {
+        this.username = username;
+    }
+    
+    public String getEmail() {
+        return email;
+    }
+    
+    public void setEmail(String email) {
+        this.email = email;
+    }
+    
+    public String getDisplayName() {
+        return displayName;
+    }
+    
+    public void setDisplayName(String displayName) {
+        this.displayName = displayName;
+    }
+    
+    public String getRole() {
+        return role;
+    }
+    
+    public void setRole(String role) {
+        this.role = role;
+    }
+    
+    public LocalDateTime getCreatedDate() {
+        return createdDate;
+    }
+    
+    public void setCreatedDate(LocalDateTime createdDate) {
+        this.createdDate = createdDate;
+    }
+    
+    public Integer getPoints() {
+        return points;
+    }
+    
+    public void setPoints(Integer points) {
+        this.points = points;
+    }
+    
+    public long getPostCount() {
+        return postCount;
+    }
+    
+    public void setPostCount(long postCount) {
+        this.postCount = postCount;
+    }
+    
+    public long getCommentCount() {
+        return commentCount;
+    }
+    
+    public void setCommentCount(long commentCount) {
+        this.commentCount = commentCount;
+    }
+    
+    public boolean isSuspended() {
+        return suspended;
+    }
+    
+    public void setSuspended(boolean suspended) {
+        this.suspended = suspended;
+    }
+    
+    public String getSuspensionReason() {
+        return suspensionReason;
+    }
+    
+    public void setSuspensionReason(String suspensionReason) {
+        this.suspensionReason = suspensionReason;
+    }
+    
+    public LocalDateTime getSuspensionEndDate() {
+        return suspensionEndDate;
+    }
+    
+    public void setSuspensionEndDate(LocalDateTime suspensionEndDate) {
+        this.suspensionEndDate = suspensionEndDate;
+    }
+    
+    public boolean isPermanentSuspension() {
+        return permanentSuspension;
+    }
+    
+    public void setPermanentSuspension(boolean permanentSuspension) {
+        this.permanentSuspension = permanentSuspension;
+    }
+}
@@ -0,0 +1,64 @@
+package com.blog.demo.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 게시글 일괄 관리 요청. postIds 를 주면 해당 게시글만, 아니면 작성자/카테고리/작성일 범위 조건으로 대상을 고른다.
+ */
+public class BulkModerationRequest {
+    private List<Long> postIds;
+    private String author;
+    private String category;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private String reason;
+    
+    public List<Long> getPostIds() {
+        return postIds;
+    }
+    
+    public void setPostIds(List<Long> postIds) {
+        this.postIds = postIds;
+    }
+    
+    public String getAuthor() {
+        return author;
+    }
+    
+    public void setAuthor(String author) {
+        this.author = author;
+    }
+    
+    public String getCategory() {
+        return category;
+    }
+    
+    public void setCategory(String category) {
+        this.category = category;
+    }
+    
+    public LocalDateTime getFrom() {
+        return from;
+    }
+    
+    public void setFrom(LocalDateTime from) {
+        this.from = from;
+    }
+    
+    public LocalDateTime getTo() {
+        return to;
+    }
+    
+    public void setTo(LocalDateTime to) {
+        this.to = to;
+    }
+    
+    public String getReason() {
+        return reason;
+    }
+    
+    public void setReason(String reason) {
+        this.reason = reason;
+    }
+}
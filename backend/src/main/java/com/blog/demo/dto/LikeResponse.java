@@ -0,0 +1,47 @@
+package com.blog.demo.dto;
+
+public class LikeResponse {
+    private Long postId;
+    private Long likeCount;
+    private Long dislikeCount;
+    private String likeStatus; // "like", "dislike" 또는 null
+    
+    public LikeResponse(Long postId, Long likeCount, Long dislikeCount, String likeStatus) {
+        this.postId = postId;
+        this.likeCount = likeCount;
+        this.dislikeCount = dislikeCount;
+        this.likeStatus = likeStatus;
+    }
+    
+    public Long getPostId() {
+        return postId;
+    }
+    
+    public void setPostId(Long postId) {
+        this.postId = postId;
+    }
+    
+    public Long getLikeCount() {
+        return likeCount;
+    }
+    
+    public void setLikeCount(Long likeCount) {
+        this.likeCount = likeCount;
+    }
+    
+    public Long getDislikeCount() {
+        return dislikeCount;
+    }
+    
+    public void setDislikeCount(Long dislikeCount) {
+        this.dislikeCount = dislikeCount;
+    }
+    
+    public String getLikeStatus() {
+        return likeStatus;
+    }
+    
+    public void setLikeStatus(String likeStatus) {
+        this.likeStatus = likeStatus;
+    }
+}
@@ -0,0 +1,135 @@
+package com.blog.demo.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * 목록 화면용 게시글 요약. 본문 전체 대신 앞부분 발췌만 담는다.
+ * PostRepository 의 생성자 표현식 쿼리에서 직접 생성된다.
+ */
+public class PostSummary {
+    
+    public static final int EXCERPT_LENGTH = 150;
+    
+    private Long id;
+    private String title;
+    private String category;
+    private Long viewCount;
+    private Long likeCount;
+    private Long dislikeCount;
+    private String username;
+    private String authorName;
+    private LocalDateTime createdDate;
+    private LocalDateTime modifiedDate;
+    private String excerpt;
+    
+    public PostSummary(Long id, String title, String category, Long viewCount, Long likeCount, Long dislikeCount,
+                       String username, String authorName, LocalDateTime createdDate, LocalDateTime modifiedDate,
+                       String contentHead) {
+        this.id = id;
+        this.title = title;
+        this.category = category;
+        this.viewCount = viewCount;
+        this.likeCount = likeCount;
+        this.dislikeCount = dislikeCount;
+        this.username = username;
+        this.authorName = authorName;
+        this.createdDate = createdDate;
+        this.modifiedDate = modifiedDate;
+        // 쿼리는 EXCERPT_LENGTH + 1 글자를 읽어 잘렸는지 판단한다
+        this.excerpt = contentHead != null && contentHead.length() > EXCERPT_LENGTH
+                ? contentHead.substring(0, EXCERPT_LENGTH) + "..."
+                : contentHead;
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getTitle() {
+        return title;
+    }
+    
+    public void setTitle(String title) {
+        this.title = title;
+    }
+    
+    public String getCategory() {
+        return category;
+    }
+    
+    public void setCategory(String category) {
+        this.category = category;
+    }
+    
+    public Long getViewCount() {
+        return viewCount;
+    }
+    
+    public void setViewCount(Long viewCount) {
+        this.viewCount = viewCount;
+    }
+    
+    public Long getLikeCount() {
+        return likeCount;
+    }
+    
+    public void setLikeCount(Long likeCount) {
+        this.likeCount = likeCount;
+    }
+    
+    public Long getDislikeCount() {
+        return dislikeCount;
+    }
+    
+    public void setDislikeCount(Long dislikeCount) {
+        this.dislikeCount = dislikeCount;
+    }
+    
+    public String getUsername() {
+        return username;
+    }
+    
+    public void setUsername(String username) {
+        this.username = username;
+    }
+    
+    public String getAuthorName() {
+        return authorName;
+    }
+    
+    public void setAuthorName(String authorName) {
+        this.authorName = authorName;
+    }
+    
+    public LocalDateTime getCreatedDate() {
+        return createdDate;
+    }
+    
+    public void setCreatedDate(LocalDateTime createdDate) {
+        this.createdDate = createdDate;
+    }
+    
+    public LocalDateTime getModifiedDate() {
+        return modifiedDate;
+    }
+    
+    public void setModifiedDate(LocalDateTime modifiedDate) {
+        this.modifiedDate = modifiedDate;
+    }
+    
+    public String getExcerpt() {
+        return excerpt;
+    }
+    
+    public void setExcerpt(String excerpt) {
+        this.excerpt = excerpt;
+    }
+    
+    public Long getPopularityScore() {
+        return likeCount - dislikeCount;
+    }
+}
@@ -18,7 +18,7 @@ public class UserResponse {
         this.email = user.getEmail();
         this.displayName = user.getDisplayName();
         this.createdDate = user.getCreatedDate();
-        this.points = user.getPoints();
+        this.points = user.getCurrentPoints();
         this.role = user.getRole().name();
     }
     
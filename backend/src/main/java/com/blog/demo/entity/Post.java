@@ -1,6 +1,7 @@
 package com.blog.demo.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -35,6 +36,10 @@ public class Post {
     @Column(name = "dislike_count", nullable = false, columnDefinition = "BIGINT DEFAULT 0")
     private Long dislikeCount = 0L;
     
+    // DB 생성 컬럼 (like_count - dislike_count). 인기순 정렬 인덱스용으로 쿼리에서만 사용
+    @Column(name = "popularity_score", insertable = false, updatable = false)
+    private Long popularityScore;
+    
     @Column(name = "is_hidden", nullable = false, columnDefinition = "BOOLEAN DEFAULT false")
     private Boolean isHidden = false;
     
@@ -47,7 +52,9 @@ public class Post {
     @Column(name = "hidden_reason", length = 500)
     private String hiddenReason;
     
+    // 목록 조회 시 게시글 id 묶음 단위로 첨부파일을 한 번에 로딩
     @OneToMany(mappedBy = "post", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @BatchSize(size = 100)
     private List<FileAttachment> fileAttachments;
     
     @OneToMany(mappedBy = "post", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
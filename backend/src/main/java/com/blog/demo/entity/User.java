@@ -1,11 +1,14 @@
 package com.blog.demo.entity;
 
+import com.blog.demo.service.PointsOverlayListener;
+import com.blog.demo.service.UserPrincipalCacheListener;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
 @Table(name = "users")
+@EntityListeners({UserPrincipalCacheListener.class, PointsOverlayListener.class})
 public class User {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -26,9 +29,18 @@ public class User {
     @Column(name = "created_date")
     private LocalDateTime createdDate;
     
-    @Column(nullable = false, columnDefinition = "INT DEFAULT 0")
+    // 잔액은 PointsLedger 집계기만 SQL 로 갱신한다. 엔티티 저장이 이전 값으로 덮어쓰지 않게 UPDATE 에서 제외
+    @Column(nullable = false, updatable = false, columnDefinition = "INT DEFAULT 0")
     private Integer points = 0;
     
+    // points 에 반영된 마지막 적립 내역 id. 집계기만 갱신한다
+    @Column(name = "points_event_id", nullable = false, insertable = false, updatable = false)
+    private long pointsEventId;
+    
+    // 아직 잔액에 반영되지 않은 적립분 (PointsOverlayListener 가 로드 시 채운다)
+    @Transient
+    private int pendingPoints;
+    
     @Enumerated(EnumType.STRING)
     @Column(nullable = false, columnDefinition = "VARCHAR(20) DEFAULT 'USER'")
     private Role role = Role.USER;
@@ -116,8 +128,21 @@ public class User {
         this.points = points;
     }
     
-    public void addPoints(Integer points) {
-        this.points += points;
+    public int getPendingPoints() {
+        return pendingPoints;
+    }
+    
+    public void setPendingPoints(int pendingPoints) {
+        this.pendingPoints = pendingPoints;
+    }
+    
+    public long getPointsEventId() {
+        return pointsEventId;
+    }
+    
+    // 응답에 보여줄 현재 포인트: DB 잔액 + 미반영 적립분
+    public int getCurrentPoints() {
+        return points + pendingPoints;
     }
     
     public Role getRole() {
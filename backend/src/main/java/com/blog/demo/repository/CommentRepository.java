@@ -1,12 +1,27 @@
 package com.blog.demo.repository;
 
 import com.blog.demo.entity.Comment;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-    List<Comment> findByPostIdOrderByCreatedDateAsc(Long postId);
     long countByPostId(Long postId);
-}
\ No newline at end of file
+    
+    // 키셋 페이지네이션: 작성자를 함께 조회해 댓글마다 사용자 조회가 일어나지 않게 한다
+    // post_id 도 ORDER BY 에 적어야 H2 가 (post_id, id) 인덱스 순서를 그대로 쓴다
+    @Query("SELECT c FROM Comment c LEFT JOIN FETCH c.user WHERE c.post.id = :postId AND c.id > :id ORDER BY c.post.id, c.id ASC")
+    List<Comment> findPageByPostIdAfter(@Param("postId") Long postId, @Param("id") Long id, Pageable pageable);
+    
+    @Query("SELECT c FROM Comment c LEFT JOIN FETCH c.user WHERE c.post.id = :postId AND c.id < :id ORDER BY c.post.id DESC, c.id DESC")
+    List<Comment> findPageByPostIdBefore(@Param("postId") Long postId, @Param("id") Long id, Pageable pageable);
+    
+    // 사용자 목록 한 페이지의 작성자별 댓글 수
+    @Query("SELECT c.user.id AS userId, COUNT(c) AS count FROM Comment c WHERE c.user.id IN :userIds GROUP BY c.user.id")
+    List<UserCount> countByUserIdIn(@Param("userIds") Collection<Long> userIds);
+}
@@ -3,6 +3,9 @@ package com.blog.demo.repository;
 import com.blog.demo.entity.PostLike;
 import com.blog.demo.entity.PostLike.LikeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.Optional;
 
@@ -11,4 +14,13 @@ public interface PostLikeRepository extends JpaRepository<PostLike, Long> {
     Optional<PostLike> findByUserIdAndPostId(Long userId, Long postId);
     long countByPostIdAndLikeType(Long postId, LikeType likeType);
     void deleteByUserIdAndPostId(Long userId, Long postId);
+    
+    // 조건부 갱신: 읽은 시점의 상태와 다르면 0 을 반환해 충돌로 처리
+    @Modifying
+    @Query("UPDATE PostLike l SET l.likeType = :newType, l.modifiedDate = CURRENT_TIMESTAMP WHERE l.id = :id AND l.likeType = :oldType")
+    int updateLikeType(@Param("id") Long id, @Param("oldType") LikeType oldType, @Param("newType") LikeType newType);
+    
+    @Modifying
+    @Query("DELETE FROM PostLike l WHERE l.id = :id AND l.likeType = :likeType")
+    int deleteByIdAndLikeType(@Param("id") Long id, @Param("likeType") LikeType likeType);
 }
\ No newline at end of file
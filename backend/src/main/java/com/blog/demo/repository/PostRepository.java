@@ -1,38 +1,125 @@
 package com.blog.demo.repository;
 
+import com.blog.demo.dto.PostSummary;
 import com.blog.demo.entity.Post;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface PostRepository extends JpaRepository<Post, Long> {
-    List<Post> findAllByOrderByCreatedDateDesc();
-    List<Post> findByIsHiddenFalseOrderByCreatedDateDesc();
     
-    List<Post> findByTitleContainingIgnoreCaseOrderByCreatedDateDesc(String keyword);
-    List<Post> findByContentContainingIgnoreCaseOrderByCreatedDateDesc(String keyword);
-    List<Post> findByUserUsernameContainingIgnoreCaseOrderByCreatedDateDesc(String keyword);
-    List<Post> findByTitleContainingIgnoreCaseOrContentContainingIgnoreCaseOrUserUsernameContainingIgnoreCaseOrderByCreatedDateDesc(String titleKeyword, String contentKeyword, String usernameKeyword);
+    // 목록용 요약 조회: 본문은 발췌 길이 + 1 글자만 읽는다
+    String SUMMARY_SELECT = "SELECT new com.blog.demo.dto.PostSummary(p.id, p.title, p.category, p.viewCount, " +
+            "p.likeCount, p.dislikeCount, u.username, COALESCE(u.displayName, u.username), p.createdDate, " +
+            "p.modifiedDate, SUBSTRING(p.content, 1, 151)) FROM Post p LEFT JOIN p.user u ";
     
-    List<Post> findByCategoryOrderByCreatedDateDesc(String category);
-    List<Post> findByCategoryAndIsHiddenFalseOrderByCreatedDateDesc(String category);
-    List<Post> findAllByOrderByViewCountDesc();
-    List<Post> findByIsHiddenFalseOrderByViewCountDesc();
-    List<Post> findByCategoryOrderByViewCountDesc(String category);
-    List<Post> findByCategoryAndIsHiddenFalseOrderByViewCountDesc(String category);
+    // 관리자 목록 내보내기용: 작성자와 함께 DB 커서로 읽는다. id 는 작성 순이므로 정렬에 PK 인덱스를 쓴다
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Post p LEFT JOIN FETCH p.user ORDER BY p.id DESC")
+    Stream<Post> streamAllWithUser();
     
-    @Query("SELECT p FROM Post p ORDER BY (p.likeCount - p.dislikeCount) DESC, p.createdDate DESC")
-    List<Post> findAllByOrderByPopularityDesc();
+    // 상세 조회: 작성자와 첨부파일을 한 번에 조회
+    @EntityGraph(attributePaths = {"user", "fileAttachments"})
+    Optional<Post> findDetailById(Long id);
     
-    @Query("SELECT p FROM Post p WHERE p.isHidden = false ORDER BY (p.likeCount - p.dislikeCount) DESC, p.createdDate DESC")
-    List<Post> findByIsHiddenFalseOrderByPopularityDesc();
+    // 메모리 색인/랭킹이 고른 게시글. 색인이 늦게 갱신돼도 숨긴 글은 내보내지 않는다
+    @Query(SUMMARY_SELECT + "WHERE p.id IN :ids AND p.isHidden = false")
+    List<PostSummary> findVisibleSummariesByIdIn(@Param("ids") Collection<Long> ids);
     
-    @Query("SELECT p FROM Post p WHERE p.category = :category ORDER BY (p.likeCount - p.dislikeCount) DESC, p.createdDate DESC")
-    List<Post> findByCategoryOrderByPopularityDesc(@Param("category") String category);
+    // 키셋 페이지네이션: (정렬 키, id) 가 커서보다 작은 게시글을 페이지 크기만큼 조회
+    // 정렬 키 <= 커서 조건으로 인덱스를 커서 위치부터 읽고, 등호로 고정한 인덱스 앞 컬럼도 ORDER BY 에 적어
+    // H2 가 인덱스 순서를 그대로 써서 페이지 크기만큼만 읽게 한다
+    @Query(SUMMARY_SELECT + "WHERE p.isHidden = false " +
+           "AND p.createdDate <= :createdDate AND (p.createdDate < :createdDate OR (p.createdDate = :createdDate AND p.id < :id)) " +
+           "ORDER BY p.isHidden, p.createdDate DESC, p.id DESC")
+    List<PostSummary> findVisibleRecentAfter(@Param("createdDate") LocalDateTime createdDate, @Param("id") Long id, Pageable pageable);
     
-    @Query("SELECT p FROM Post p WHERE p.category = :category AND p.isHidden = false ORDER BY (p.likeCount - p.dislikeCount) DESC, p.createdDate DESC")
-    List<Post> findByCategoryAndIsHiddenFalseOrderByPopularityDesc(@Param("category") String category);
+    @Query(SUMMARY_SELECT + "WHERE p.category = :category AND p.isHidden = false " +
+           "AND p.createdDate <= :createdDate AND (p.createdDate < :createdDate OR (p.createdDate = :createdDate AND p.id < :id)) " +
+           "ORDER BY p.category, p.isHidden, p.createdDate DESC, p.id DESC")
+    List<PostSummary> findVisibleRecentByCategoryAfter(@Param("category") String category, @Param("createdDate") LocalDateTime createdDate, @Param("id") Long id, Pageable pageable);
+    
+    @Query(SUMMARY_SELECT + "WHERE p.isHidden = false " +
+           "AND p.viewCount <= :viewCount AND (p.viewCount < :viewCount OR (p.viewCount = :viewCount AND p.id < :id)) " +
+           "ORDER BY p.isHidden, p.viewCount DESC, p.id DESC")
+    List<PostSummary> findVisibleByViewsAfter(@Param("viewCount") Long viewCount, @Param("id") Long id, Pageable pageable);
+    
+    @Query(SUMMARY_SELECT + "WHERE p.category = :category AND p.isHidden = false " +
+           "AND p.viewCount <= :viewCount AND (p.viewCount < :viewCount OR (p.viewCount = :viewCount AND p.id < :id)) " +
+           "ORDER BY p.category, p.isHidden, p.viewCount DESC, p.id DESC")
+    List<PostSummary> findVisibleByCategoryAndViewsAfter(@Param("category") String category, @Param("viewCount") Long viewCount, @Param("id") Long id, Pageable pageable);
+    
+    @Query(SUMMARY_SELECT + "WHERE p.isHidden = false " +
+           "AND p.popularityScore <= :score AND (p.popularityScore < :score OR (p.popularityScore = :score AND p.id < :id)) " +
+           "ORDER BY p.isHidden, p.popularityScore DESC, p.id DESC")
+    List<PostSummary> findVisibleByPopularityAfter(@Param("score") Long score, @Param("id") Long id, Pageable pageable);
+    
+    @Query(SUMMARY_SELECT + "WHERE p.category = :category AND p.isHidden = false " +
+           "AND p.popularityScore <= :score AND (p.popularityScore < :score OR (p.popularityScore = :score AND p.id < :id)) " +
+           "ORDER BY p.category, p.isHidden, p.popularityScore DESC, p.id DESC")
+    List<PostSummary> findVisibleByCategoryAndPopularityAfter(@Param("category") String category, @Param("score") Long score, @Param("id") Long id, Pageable pageable);
+    
+    // 검색 색인 재구성용: id 순으로 작성자를 함께 조회
+    @Query("SELECT p FROM Post p LEFT JOIN FETCH p.user WHERE p.id > :id ORDER BY p.id ASC")
+    List<Post> findBatchWithUserAfter(@Param("id") Long id, Pageable pageable);
+    
+    // 일괄 관리 대상 조회. 선행 조건이 인덱스를 타도록 작성자/카테고리/기간별로 나눈다
+    // 작성자: idx_posts_user 로 찾고 나머지 조건(null 이면 무시)은 걸러낸다
+    @Query("SELECT p.id FROM Post p WHERE p.user.id = :userId " +
+           "AND (:category IS NULL OR p.category = :category) " +
+           "AND p.createdDate >= :fromDate AND p.createdDate < :toDate ORDER BY p.id")
+    List<Long> findIdsByUserFilter(@Param("userId") Long userId, @Param("category") String category,
+                                   @Param("fromDate") LocalDateTime fromDate, @Param("toDate") LocalDateTime toDate);
+    
+    // 카테고리: idx_posts_category_hidden_created 의 범위 조회. 숨김 여부별로 한 번씩 호출한다
+    @Query("SELECT p.id FROM Post p WHERE p.category = :category AND p.isHidden = :hidden " +
+           "AND p.createdDate >= :fromDate AND p.createdDate < :toDate")
+    List<Long> findIdsByCategoryAndCreatedRange(@Param("category") String category, @Param("hidden") boolean hidden,
+                                                @Param("fromDate") LocalDateTime fromDate, @Param("toDate") LocalDateTime toDate);
+    
+    // 기간: idx_posts_hidden_created 의 범위 조회. 숨김 여부별로 한 번씩 호출한다
+    @Query("SELECT p.id FROM Post p WHERE p.isHidden = :hidden " +
+           "AND p.createdDate >= :fromDate AND p.createdDate < :toDate")
+    List<Long> findIdsByCreatedRange(@Param("hidden") boolean hidden,
+                                     @Param("fromDate") LocalDateTime fromDate, @Param("toDate") LocalDateTime toDate);
+    
+    @Query("SELECT p FROM Post p LEFT JOIN FETCH p.user WHERE p.id IN :ids")
+    List<Post> findAllWithUserByIdIn(@Param("ids") Collection<Long> ids);
+    
+    // 작성자가 없는 게시글은 빈 문자열, 게시글이 없으면 빈 Optional
+    @Query("SELECT COALESCE(u.username, '') FROM Post p LEFT JOIN p.user u WHERE p.id = :id")
+    Optional<String> findAuthorUsernameById(@Param("id") Long id);
+    
+    // 좋아요/싫어요 카운터는 읽지 않고 상대값으로만 갱신
+    @Modifying
+    @Query(value = "UPDATE posts SET like_count = like_count + :likeDelta, dislike_count = dislike_count + :dislikeDelta WHERE id = :id", nativeQuery = true)
+    int addLikeCounts(@Param("id") Long id, @Param("likeDelta") long likeDelta, @Param("dislikeDelta") long dislikeDelta);
+    
+    @Query("SELECT p.likeCount AS likeCount, p.dislikeCount AS dislikeCount FROM Post p WHERE p.id = :id")
+    Optional<LikeCounts> findLikeCountsById(@Param("id") Long id);
+    
+    // 사용자 목록 한 페이지의 작성자별 게시글 수
+    @Query("SELECT p.user.id AS userId, COUNT(p) AS count FROM Post p WHERE p.user.id IN :userIds GROUP BY p.user.id")
+    List<UserCount> countByUserIdIn(@Param("userIds") Collection<Long> userIds);
+    
+    interface LikeCounts {
+        Long getLikeCount();
+        Long getDislikeCount();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.blog.demo.repository;
+
+/**
+ * 사용자별 집계 결과 (GROUP BY user_id).
+ */
+public interface UserCount {
+    Long getUserId();
+    Long getCount();
+}
@@ -1,14 +1,62 @@
 package com.blog.demo.repository;
 
 import com.blog.demo.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
+    
+    String ACTIVE_SUSPENSION = "(SELECT us.id FROM UserSuspension us WHERE us.user = u AND us.isActive = true " +
+            "AND us.startDate <= :now AND (us.endDate IS NULL OR us.endDate > :now))";
+    
+    // 관리자 사용자 목록 필터: null 인 조건은 무시. suspended 는 현재 유효한 정지가 있는지 여부
+    String DIRECTORY_FILTER = "AND (:prefix IS NULL OR u.username LIKE :prefix ESCAPE '\\') " +
+            "AND (:role IS NULL OR u.role = :role) " +
+            "AND (:suspended IS NULL OR (:suspended = true AND EXISTS " + ACTIVE_SUSPENSION + ") " +
+            "OR (:suspended = false AND NOT EXISTS " + ACTIVE_SUSPENSION + ")) ";
+    
     Optional<User> findByUsername(String username);
     Optional<User> findByEmail(String email);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
-}
\ No newline at end of file
+    
+    // 관리자 목록 내보내기용: DB 커서로 읽는다
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT u FROM User u ORDER BY u.id ASC")
+    Stream<User> streamAll();
+    
+    // 관리자 사용자 목록 키셋 페이지네이션 (정렬별)
+    @Query("SELECT u FROM User u WHERE u.id < :id " + DIRECTORY_FILTER + "ORDER BY u.id DESC")
+    List<User> findDirectoryByRecentAfter(@Param("id") Long id, @Param("prefix") String prefix,
+                                          @Param("role") User.Role role, @Param("suspended") Boolean suspended,
+                                          @Param("now") LocalDateTime now, Pageable pageable);
+    
+    @Query("SELECT u FROM User u WHERE u.username > :username " + DIRECTORY_FILTER + "ORDER BY u.username ASC")
+    List<User> findDirectoryByUsernameAfter(@Param("username") String username, @Param("prefix") String prefix,
+                                            @Param("role") User.Role role, @Param("suspended") Boolean suspended,
+                                            @Param("now") LocalDateTime now, Pageable pageable);
+    
+    @Query("SELECT u FROM User u WHERE u.points <= :points AND (u.points < :points OR (u.points = :points AND u.id < :id)) " +
+           DIRECTORY_FILTER + "ORDER BY u.points DESC, u.id DESC")
+    List<User> findDirectoryByPointsAfter(@Param("points") Integer points, @Param("id") Long id,
+                                          @Param("prefix") String prefix, @Param("role") User.Role role,
+                                          @Param("suspended") Boolean suspended, @Param("now") LocalDateTime now,
+                                          Pageable pageable);
+    
+    // 디버그 목록용: id 순 페이지
+    List<User> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+}
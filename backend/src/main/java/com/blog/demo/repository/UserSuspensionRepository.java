@@ -2,10 +2,14 @@ package com.blog.demo.repository;
 
 import com.blog.demo.entity.UserSuspension;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -16,4 +20,18 @@ public interface UserSuspensionRepository extends JpaRepository<UserSuspension,
     Optional<UserSuspension> findActiveSuspensionByUserId(@Param("userId") Long userId, @Param("now") LocalDateTime now);
     
     Optional<UserSuspension> findByUserIdAndIsActiveTrue(Long userId);
+    
+    // 사용자 목록 한 페이지의 현재 유효한 정지
+    @Query("SELECT us FROM UserSuspension us WHERE us.user.id IN :userIds AND us.isActive = true " +
+           "AND us.startDate <= :now AND (us.endDate IS NULL OR us.endDate > :now)")
+    List<UserSuspension> findActiveByUserIdIn(@Param("userIds") Collection<Long> userIds, @Param("now") LocalDateTime now);
+    
+    @Query("SELECT us FROM UserSuspension us WHERE us.isActive = true")
+    List<UserSuspension> findAllActive();
+    
+    // 기간이 끝난 정지를 묶음 단위로 해제
+    @Modifying
+    @Transactional
+    @Query("UPDATE UserSuspension us SET us.isActive = false WHERE us.id IN :ids AND us.isActive = true")
+    int deactivateByIdIn(@Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
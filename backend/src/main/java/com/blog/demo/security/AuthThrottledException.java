@@ -0,0 +1,28 @@
+package com.blog.demo.security;
+
+/**
+ * 인증 요청을 지금 처리하지 않고 거절할 때 던진다. 컨트롤러는 429 와 Retry-After 로 응답한다.
+ */
+public class AuthThrottledException extends RuntimeException {
+    
+    private final long retryAfterSeconds;
+    
+    public AuthThrottledException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = Math.max(1, retryAfterSeconds);
+    }
+    
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+    
+    // 인증 처리 중 다른 예외로 감싸진 경우도 찾는다
+    public static AuthThrottledException find(Throwable error) {
+        for (Throwable current = error; current != null; current = current.getCause()) {
+            if (current instanceof AuthThrottledException) {
+                return (AuthThrottledException) current;
+            }
+        }
+        return null;
+    }
+}
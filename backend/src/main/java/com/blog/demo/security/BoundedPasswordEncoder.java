@@ -0,0 +1,137 @@
+package com.blog.demo.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 비밀번호 해시(BCrypt)를 전용 스레드 풀에서만 실행하는 PasswordEncoder.
+ * 해시는 CPU 를 오래 쓰므로 동시에 실행되는 수를 스레드 수로, 대기하는 수를 큐 크기로 제한한다.
+ * 큐가 가득 차거나 큐에서 기다린 시간이 제한을 넘으면 AuthThrottledException 을 던져 요청을 바로 거절하므로,
+ * 로그인 폭주가 와도 나머지 CPU 는 조회 요청이 쓸 수 있다.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+    
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMs;
+    
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Timer waitTimer;
+    private final Counter rejected;
+    
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, long timeoutMs,
+                                  MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.timeoutMs = timeoutMs;
+        
+        AtomicInteger threadNumber = new AtomicInteger();
+        // CPU 작업이므로 가상 스레드 모드에서도 플랫폼 스레드를 쓴다
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        
+        this.encodeTimer = hashTimer(meterRegistry, "encode");
+        this.matchesTimer = hashTimer(meterRegistry, "matches");
+        this.waitTimer = Timer.builder("auth.hash.wait")
+                .description("Time password hashing work spends queued")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rejected = Counter.builder("auth.hash.rejected")
+                .description("Password hashing requests shed because the queue was full or the wait timed out")
+                .register(meterRegistry);
+        Gauge.builder("auth.hash.queue.size", executor, e -> e.getQueue().size())
+                .description("Password hashing requests waiting for a thread")
+                .register(meterRegistry);
+        Gauge.builder("auth.hash.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashing requests running")
+                .register(meterRegistry);
+    }
+    
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(encodeTimer, () -> delegate.encode(rawPassword));
+    }
+    
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(matchesTimer, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+    
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+    
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+    
+    private <T> T run(Timer timer, Callable<T> work) {
+        long submitted = System.nanoTime();
+        // 대기 시간 초과로 포기한 작업과 실행을 시작한 작업 중 먼저 잡은 쪽만 이긴다
+        AtomicBoolean claimed = new AtomicBoolean();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                if (!claimed.compareAndSet(false, true)) {
+                    return null;
+                }
+                waitTimer.record(System.nanoTime() - submitted, TimeUnit.NANOSECONDS);
+                return timer.recordCallable(work);
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new AuthThrottledException("요청이 많아 잠시 후 다시 시도해주세요.", 1);
+        }
+        
+        try {
+            try {
+                return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (claimed.compareAndSet(false, true)) {
+                    // 아직 큐에 있으면 실행되지 않게 빼낸다
+                    future.cancel(false);
+                    rejected.increment();
+                    throw new AuthThrottledException("요청이 많아 잠시 후 다시 시도해주세요.", 1);
+                }
+                // 이미 해시 중이면 끝까지 기다린다. BCrypt 는 중간에 멈추지 않으므로 거절해도 CPU 를 돌려받지 못한다
+                return future.get();
+            }
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Password hashing interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException("Password hashing failed", e.getCause());
+        }
+    }
+    
+    private static Timer hashTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("auth.hash")
+                .description("Password hashing latency")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
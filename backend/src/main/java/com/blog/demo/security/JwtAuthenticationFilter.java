@@ -1,10 +1,15 @@
 package com.blog.demo.security;
 
 import com.blog.demo.service.CustomUserDetailsService;
+import com.blog.demo.service.SuspensionRegistry;
+import com.blog.demo.service.UserPrincipal;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -19,24 +24,49 @@ import java.io.IOException;
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    private static final Logger log = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
+
     @Autowired
     private JwtUtil jwtUtil;
 
     @Autowired
     private CustomUserDetailsService customUserDetailsService;
 
+    @Autowired
+    private SuspensionRegistry suspensionRegistry;
+
+    @Autowired
+    private TokenRevocationRegistry tokenRevocationRegistry;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         try {
             String jwt = getJwtFromRequest(request);
             String requestURI = request.getRequestURI();
 
-            if (StringUtils.hasText(jwt) && jwtUtil.validateToken(jwt)) {
-                String username = jwtUtil.getUsernameFromToken(jwt);
+            Claims claims = StringUtils.hasText(jwt) ? jwtUtil.getVerifiedClaims(jwt) : null;
+
+            if (claims != null) {
+                String username = claims.getSubject();
                 System.out.println("JWT Auth - Request: " + requestURI + ", User: " + username);
 
-                UserDetails userDetails = customUserDetailsService.loadUserByUsername(username);
+                UserDetails userDetails = customUserDetailsService.loadCachedUserByUsername(username);
                 System.out.println("JWT Auth - UserDetails: " + userDetails.getUsername() + ", Authorities: " + userDetails.getAuthorities());
+
+                // 폐기된 토큰은 만료된 토큰처럼 인증 없이 진행한다
+                Long userId = userDetails instanceof UserPrincipal ? ((UserPrincipal) userDetails).getId() : null;
+                if (tokenRevocationRegistry.isRevoked(claims, userId)) {
+                    log.debug("Revoked token for user {}: {}", username, requestURI);
+                    filterChain.doFilter(request, response);
+                    return;
+                }
+
+                // 토큰 발급 이후 정지된 사용자는 인증하지 않고 401 로 로그아웃시킨다
+                if (userDetails instanceof UserPrincipal
+                        && suspensionRegistry.isSuspended(((UserPrincipal) userDetails).getId())) {
+                    response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Account suspended");
+                    return;
+                }
                 
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
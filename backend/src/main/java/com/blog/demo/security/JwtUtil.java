@@ -1,14 +1,22 @@
 package com.blog.demo.security;
 
+import com.blog.demo.service.StripedLruCache;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
 
 @Component
 public class JwtUtil {
@@ -19,50 +27,106 @@ public class JwtUtil {
     @Value("${app.jwtExpirationInMs:86400000}")
     private int jwtExpirationInMs;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    @Value("${app.jwtCacheMaxSize:10000}")
+    private int cacheMaxSize;
+
+    @Value("${app.jwtCacheTtlMs:300000}")
+    private long cacheTtlMs;
+
+    private SecretKey signingKey;
+
+    private JwtParser jwtParser;
+
+    // 토큰 SHA-256 다이제스트 -> 검증된 클레임. 토큰 만료 시각을 넘겨 보관하지 않는다.
+    // 모든 인증 요청이 거치므로 구역별 락을 쓰는 LRU 로 두고, 가득 차면 구역 안에서 가장 오래 쓰이지 않은 토큰부터 밀려난다.
+    private StripedLruCache<String, CachedClaims> verifiedTokens;
+
+    private final LongAdder cacheHits = new LongAdder();
+
+    private final LongAdder cacheMisses = new LongAdder();
+
+    @PostConstruct
+    public void init() {
+        this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        this.verifiedTokens = new StripedLruCache<>(cacheMaxSize);
     }
 
     public String generateToken(Authentication authentication) {
         UserDetails userPrincipal = (UserDetails) authentication.getPrincipal();
-        Date expiryDate = new Date(System.currentTimeMillis() + jwtExpirationInMs);
-
-        return Jwts.builder()
-                .setSubject(userPrincipal.getUsername())
-                .setIssuedAt(new Date())
-                .setExpiration(expiryDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS512)
-                .compact();
+        return generateTokenFromUsername(userPrincipal.getUsername());
     }
 
     public String generateTokenFromUsername(String username) {
         Date expiryDate = new Date(System.currentTimeMillis() + jwtExpirationInMs);
 
+        // jti 는 토큰 폐기(TokenRevocationRegistry)에 쓴다
         return Jwts.builder()
+                .setId(UUID.randomUUID().toString())
                 .setSubject(username)
                 .setIssuedAt(new Date())
                 .setExpiration(expiryDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS512)
+                .signWith(signingKey, SignatureAlgorithm.HS512)
                 .compact();
     }
 
     public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-
+        Claims claims = getVerifiedClaims(token);
+        if (claims == null) {
+            throw new JwtException("Invalid JWT token");
+        }
         return claims.getSubject();
     }
 
     public boolean validateToken(String authToken) {
+        return getVerifiedClaims(authToken) != null;
+    }
+
+    /**
+     * 서명과 만료를 검증한 클레임을 반환한다. 유효하지 않은 토큰이면 null.
+     * 같은 토큰의 반복 요청은 캐시에서 바로 응답해 HMAC 검증을 건너뛴다.
+     */
+    public Claims getVerifiedClaims(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+
+        String digest = digest(token);
+        long now = System.currentTimeMillis();
+        CachedClaims cached = verifiedTokens.get(digest);
+        if (cached != null) {
+            if (cached.expiresAt > now) {
+                cacheHits.increment();
+                return cached.claims;
+            }
+            verifiedTokens.remove(digest, cached);
+        }
+        cacheMisses.increment();
+
+        Claims claims = parseClaims(token);
+        if (claims != null) {
+            cache(digest, claims, now);
+        }
+        return claims;
+    }
+
+    public long getCacheHits() {
+        return cacheHits.sum();
+    }
+
+    public long getCacheMisses() {
+        return cacheMisses.sum();
+    }
+
+    public int getCacheSize() {
+        return verifiedTokens.size();
+    }
+
+    private Claims parseClaims(String token) {
         try {
-            Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(authToken);
-            return true;
+            return jwtParser.parseClaimsJws(token).getBody();
         } catch (MalformedJwtException ex) {
             System.err.println("Invalid JWT token");
         } catch (ExpiredJwtException ex) {
@@ -71,7 +135,37 @@ public class JwtUtil {
             System.err.println("Unsupported JWT token");
         } catch (IllegalArgumentException ex) {
             System.err.println("JWT claims string is empty");
+        } catch (JwtException ex) {
+            System.err.println("Invalid JWT signature");
+        }
+        return null;
+    }
+
+    private void cache(String digest, Claims claims, long now) {
+        long expiresAt = now + cacheTtlMs;
+        if (claims.getExpiration() != null) {
+            expiresAt = Math.min(expiresAt, claims.getExpiration().getTime());
+        }
+        // 만료된 항목은 조회 시 지우거나, 쓰이지 않으므로 결국 LRU 로 밀려난다
+        verifiedTokens.put(digest, new CachedClaims(claims, expiresAt));
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static class CachedClaims {
+        private final Claims claims;
+        private final long expiresAt;
+
+        private CachedClaims(Claims claims, long expiresAt) {
+            this.claims = claims;
+            this.expiresAt = expiresAt;
         }
-        return false;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,158 @@
+package com.blog.demo.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 로그인 실패 횟수 제한. 아이디별, 클라이언트 IP 별로 고정 구간 동안의 실패를 세고,
+ * 한도를 넘으면 구간이 끝날 때까지 비밀번호 확인 전에 거절한다.
+ * 거절된 시도는 BCrypt 를 실행하지 않으므로 대입 공격이 해시 스레드를 차지하지 못한다.
+ * 키가 app.auth.maxTrackedKeys 를 넘으면 가장 오래 쓰이지 않은 키부터 밀어내므로, 키를 바꿔 가며 시도해도 새 키는 계속 센다.
+ */
+@Component
+public class LoginAttemptThrottle {
+    
+    private static final String USERNAME = "username";
+    private static final String IP = "ip";
+    
+    @Value("${app.auth.maxFailuresPerUsername:5}")
+    private int maxFailuresPerUsername;
+    
+    @Value("${app.auth.maxFailuresPerIp:20}")
+    private int maxFailuresPerIp;
+    
+    @Value("${app.auth.failureWindowMs:300000}")
+    private long failureWindowMs;
+    
+    @Value("${app.auth.maxTrackedKeys:100000}")
+    private int maxTrackedKeys;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private final Map<String, Window> usernames = newWindowMap();
+    private final Map<String, Window> ips = newWindowMap();
+    
+    private Counter usernameRejections;
+    private Counter ipRejections;
+    
+    @PostConstruct
+    public void init() {
+        usernameRejections = rejectionCounter(USERNAME);
+        ipRejections = rejectionCounter(IP);
+        Gauge.builder("auth.login.throttle.keys", this, throttle -> throttle.usernames.size() + throttle.ips.size())
+                .description("Usernames and client IPs with recent login failures")
+                .register(meterRegistry);
+    }
+    
+    /**
+     * 아이디나 IP 가 한도를 넘었으면 AuthThrottledException 을 던진다.
+     */
+    public void check(String username, String clientIp) {
+        long now = System.currentTimeMillis();
+        checkKey(usernames, username, maxFailuresPerUsername, now, usernameRejections);
+        checkKey(ips, clientIp, maxFailuresPerIp, now, ipRejections);
+    }
+    
+    public void recordFailure(String username, String clientIp) {
+        long now = System.currentTimeMillis();
+        recordKey(usernames, username, now);
+        recordKey(ips, clientIp, now);
+    }
+    
+    // 성공하면 해당 아이디의 실패 기록만 지운다. 같은 IP 에서 여러 아이디를 시도하는 경우는 계속 센다
+    public void recordSuccess(String username) {
+        if (username != null) {
+            usernames.remove(username);
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${app.auth.failureWindowMs:300000}")
+    public void prune() {
+        long now = System.currentTimeMillis();
+        pruneExpired(usernames, now);
+        pruneExpired(ips, now);
+    }
+    
+    private void pruneExpired(Map<String, Window> windows, long now) {
+        synchronized (windows) {
+            windows.values().removeIf(window -> window.isExpired(now, failureWindowMs));
+        }
+    }
+    
+    private void checkKey(Map<String, Window> windows, String key, int maxFailures, long now, Counter rejections) {
+        if (key == null) {
+            return;
+        }
+        Window window = windows.get(key);
+        if (window == null) {
+            return;
+        }
+        long retryAfterMs = window.blockedForMs(now, failureWindowMs, maxFailures);
+        if (retryAfterMs > 0) {
+            rejections.increment();
+            throw new AuthThrottledException("로그인 실패가 많아 잠시 후 다시 시도해주세요.", (retryAfterMs + 999) / 1000);
+        }
+    }
+    
+    private void recordKey(Map<String, Window> windows, String key, long now) {
+        if (key == null) {
+            return;
+        }
+        windows.computeIfAbsent(key, k -> new Window(now)).increment(now, failureWindowMs);
+    }
+    
+    // 접근 순서 LinkedHashMap. 공격 중인 키는 계속 조회되므로 밀려나지 않는다
+    private Map<String, Window> newWindowMap() {
+        return Collections.synchronizedMap(new LinkedHashMap<String, Window>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Window> eldest) {
+                return size() > maxTrackedKeys;
+            }
+        });
+    }
+    
+    private Counter rejectionCounter(String scope) {
+        return Counter.builder("auth.login.throttled")
+                .description("Login attempts rejected before password check because of recent failures")
+                .tag("scope", scope)
+                .register(meterRegistry);
+    }
+    
+    private static class Window {
+        
+        private long startMs;
+        private int failures;
+        
+        private Window(long startMs) {
+            this.startMs = startMs;
+        }
+        
+        private synchronized void increment(long now, long windowMs) {
+            if (now - startMs >= windowMs) {
+                startMs = now;
+                failures = 0;
+            }
+            failures++;
+        }
+        
+        private synchronized long blockedForMs(long now, long windowMs, int maxFailures) {
+            long remaining = startMs + windowMs - now;
+            return failures >= maxFailures && remaining > 0 ? remaining : 0;
+        }
+        
+        private synchronized boolean isExpired(long now, long windowMs) {
+            return now - startMs >= windowMs;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.blog.demo.security;
+
+import com.blog.demo.service.InvalidationEvent;
+import com.blog.demo.service.InvalidationPublisher;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * JWT 폐기 목록.
+ * 개별 토큰(jti) 폐기와 사용자별 기준 시각 이전 발급 토큰 일괄 폐기를 DB 에 기록하고 메모리에 사본을 둔다.
+ * JWT 필터는 요청마다 블룸 필터를 먼저 확인해, 폐기되지 않은 대부분의 토큰은 정확한 집합 조회 없이 통과시킨다.
+ * 토큰 만료 시각이 지난 항목은 주기적으로 DB 와 메모리에서 정리하고, 이때 다른 인스턴스의 폐기도 다시 읽는다.
+ */
+@Component
+public class TokenRevocationRegistry {
+    
+    private static final String REVOKE_SQL = "MERGE INTO revoked_tokens (jti, expires_at) KEY (jti) VALUES (?, ?)";
+    private static final String CUTOFF_SQL = "MERGE INTO user_token_cutoffs (user_id, not_before, expires_at) " +
+            "KEY (user_id) VALUES (?, ?, ?)";
+    private static final String LOAD_REVOKED_SQL = "SELECT jti, expires_at FROM revoked_tokens WHERE expires_at > ?";
+    private static final String LOAD_CUTOFFS_SQL = "SELECT user_id, not_before FROM user_token_cutoffs WHERE expires_at > ?";
+    private static final String PRUNE_REVOKED_SQL = "DELETE FROM revoked_tokens WHERE expires_at <= ?";
+    private static final String PRUNE_CUTOFFS_SQL = "DELETE FROM user_token_cutoffs WHERE expires_at <= ?";
+    
+    @Value("${app.jwtExpirationInMs:86400000}")
+    private long jwtExpirationInMs;
+    
+    @Value("${app.tokenRevocation.expectedEntries:100000}")
+    private int expectedEntries;
+    
+    @Value("${app.tokenRevocation.falsePositiveRate:0.01}")
+    private double falsePositiveRate;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Autowired
+    private InvalidationPublisher invalidationPublisher;
+    
+    // jti -> 토큰 만료 시각(ms)
+    private volatile Map<String, Long> revoked = new ConcurrentHashMap<>();
+    // 사용자 id -> 이 시각(ms) 이전에 발급된 토큰은 무효
+    private volatile Map<Long, Long> cutoffs = new ConcurrentHashMap<>();
+    private volatile BloomFilter bloomFilter;
+    
+    private Counter bloomPositives;
+    private Counter bloomFalsePositives;
+    
+    @PostConstruct
+    public void init() {
+        bloomFilter = new BloomFilter(expectedEntries, falsePositiveRate);
+        bloomPositives = Counter.builder("jwt.revocation.bloom")
+                .description("Revocation bloom filter lookups that required an exact check")
+                .tag("result", "positive")
+                .register(meterRegistry);
+        bloomFalsePositives = Counter.builder("jwt.revocation.bloom")
+                .description("Revocation bloom filter lookups that required an exact check")
+                .tag("result", "false_positive")
+                .register(meterRegistry);
+        Gauge.builder("jwt.revocation.size", this, registry -> registry.revoked.size())
+                .description("Revoked token ids kept in memory")
+                .register(meterRegistry);
+        Gauge.builder("jwt.revocation.cutoffs", this, registry -> registry.cutoffs.size())
+                .description("Users with a token cutoff kept in memory")
+                .register(meterRegistry);
+    }
+    
+    /**
+     * 서명이 검증된 토큰이 폐기됐는지 확인한다. 메모리만 조회한다.
+     */
+    public boolean isRevoked(Claims claims, Long userId) {
+        if (userId != null) {
+            Long notBefore = cutoffs.get(userId);
+            // iat 는 초 단위이므로 같은 초에 발급된 토큰도 폐기로 본다
+            if (notBefore != null && (claims.getIssuedAt() == null || claims.getIssuedAt().getTime() <= notBefore)) {
+                return true;
+            }
+        }
+        
+        String jti = claims.getId();
+        if (jti == null || !bloomFilter.mightContain(jti)) {
+            return false;
+        }
+        bloomPositives.increment();
+        if (revoked.containsKey(jti)) {
+            return true;
+        }
+        bloomFalsePositives.increment();
+        return false;
+    }
+    
+    /**
+     * 토큰 하나를 폐기한다 (로그아웃).
+     */
+    public synchronized void revoke(Claims claims) {
+        String jti = claims.getId();
+        if (jti == null) {
+            return;
+        }
+        long expiresAt = claims.getExpiration() != null
+                ? claims.getExpiration().getTime()
+                : System.currentTimeMillis() + jwtExpirationInMs;
+        jdbcTemplate.update(REVOKE_SQL, jti, new Timestamp(expiresAt));
+        revoked.put(jti, expiresAt);
+        bloomFilter.add(jti);
+        invalidationPublisher.publish(InvalidationEvent.Kind.TOKENS, 0L);
+    }
+    
+    /**
+     * 지금까지 발급된 사용자의 모든 토큰을 폐기한다 (정지, 비밀번호 변경).
+     */
+    public synchronized void revokeAllForUser(Long userId) {
+        long now = System.currentTimeMillis();
+        // 기준 시각 이전 토큰은 늦어도 이때 모두 만료된다
+        long expiresAt = now + jwtExpirationInMs;
+        jdbcTemplate.update(CUTOFF_SQL, userId, new Timestamp(now), new Timestamp(expiresAt));
+        cutoffs.put(userId, now);
+        invalidationPublisher.publish(InvalidationEvent.Kind.TOKENS, 0L);
+    }
+    
+    // 시작 시, 그리고 다른 인스턴스에서 폐기가 있었다는 알림을 받았을 때
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        refresh();
+    }
+    
+    @Scheduled(fixedDelayString = "${app.tokenRevocation.refreshIntervalMs:60000}", initialDelayString = "${app.tokenRevocation.refreshIntervalMs:60000}")
+    public void prune() {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        jdbcTemplate.update(PRUNE_REVOKED_SQL, now);
+        jdbcTemplate.update(PRUNE_CUTOFFS_SQL, now);
+        refresh();
+    }
+    
+    // DB 의 유효한 항목으로 메모리 사본과 블룸 필터를 다시 만든다
+    private synchronized void refresh() {
+        long now = System.currentTimeMillis();
+        Timestamp nowTimestamp = new Timestamp(now);
+        
+        // 폐기 기록과 같은 락 안에서 읽으므로 이 인스턴스의 폐기는 모두 DB 에 있다
+        Map<String, Long> loadedRevoked = new ConcurrentHashMap<>();
+        jdbcTemplate.query(LOAD_REVOKED_SQL, rs -> {
+            loadedRevoked.put(rs.getString(1), rs.getTimestamp(2).getTime());
+        }, nowTimestamp);
+        Map<Long, Long> loadedCutoffs = new ConcurrentHashMap<>();
+        jdbcTemplate.query(LOAD_CUTOFFS_SQL, rs -> {
+            loadedCutoffs.put(rs.getLong(1), rs.getTimestamp(2).getTime());
+        }, nowTimestamp);
+        
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedEntries, loadedRevoked.size() * 2), falsePositiveRate);
+        loadedRevoked.keySet().forEach(rebuilt::add);
+        
+        revoked = loadedRevoked;
+        bloomFilter = rebuilt;
+        cutoffs = loadedCutoffs;
+    }
+}
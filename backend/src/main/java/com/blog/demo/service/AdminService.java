@@ -1,37 +1,217 @@
 package com.blog.demo.service;
 
+import com.blog.demo.dto.AdminUserSummary;
+import com.blog.demo.dto.CursorPageResponse;
+import com.blog.demo.dto.PostResponse;
+import com.blog.demo.dto.UserResponse;
 import com.blog.demo.entity.Post;
 import com.blog.demo.entity.User;
 import com.blog.demo.entity.UserSuspension;
+import com.blog.demo.repository.CommentRepository;
 import com.blog.demo.repository.PostRepository;
+import com.blog.demo.repository.UserCount;
 import com.blog.demo.repository.UserRepository;
 import com.blog.demo.repository.UserSuspensionRepository;
+import com.blog.demo.security.TokenRevocationRegistry;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class AdminService {
     
+    // hibernate.default_batch_fetch_size 와 같게 두어 청크당 첨부파일 조회가 한 번이 되게 한다
+    private static final int EXPORT_CHUNK_SIZE = 100;
+    
+    private static final int DIRECTORY_DEFAULT_SIZE = 50;
+    private static final int DIRECTORY_MAX_SIZE = 200;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
     @Autowired
     private UserRepository userRepository;
     
     @Autowired
     private PostRepository postRepository;
     
+    @Autowired
+    private CommentRepository commentRepository;
+    
     @Autowired
     private UserSuspensionRepository userSuspensionRepository;
     
-    public List<User> getAllUsers() {
-        return userRepository.findAll();
+    @Autowired
+    private PostSearchIndex postSearchIndex;
+    
+    @Autowired
+    private ViewCountBuffer viewCountBuffer;
+    
+    @Autowired
+    private HotRanking hotRanking;
+    
+    @Autowired
+    private UserPrincipalCache userPrincipalCache;
+    
+    @Autowired
+    private SuspensionRegistry suspensionRegistry;
+    
+    @Autowired
+    private ContentVersions contentVersions;
+    
+    @Autowired
+    private TokenRevocationRegistry tokenRevocationRegistry;
+    
+    @Autowired
+    private InvalidationPublisher invalidationPublisher;
+    
+    /**
+     * 전체 사용자를 JSON 배열로 출력한다. DB 커서로 읽어 청크마다 쓰고 영속성 컨텍스트를 비우므로
+     * 사용자 수와 관계없이 메모리 사용량이 일정하다.
+     */
+    @Transactional(readOnly = true)
+    public void writeAllUsers(OutputStream out) throws IOException {
+        try (Stream<User> users = userRepository.streamAll()) {
+            writeJsonArray(out, users, UserResponse::new);
+        }
+    }
+    
+    /**
+     * 전체 게시글을 최신순 JSON 배열로 출력한다. 첨부파일은 청크 단위 배치 조회로 읽는다.
+     */
+    @Transactional(readOnly = true)
+    public void writeAllPosts(OutputStream out) throws IOException {
+        try (Stream<Post> posts = postRepository.streamAllWithUser()) {
+            writeJsonArray(out, posts, PostResponse::new);
+        }
     }
     
-    public List<Post> getAllPosts() {
-        return postRepository.findAllByOrderByCreatedDateDesc();
+    /**
+     * 관리자 사용자 목록 한 페이지. 사용자 페이지, 게시글 수, 댓글 수, 활성 정지를 각각 한 번씩 조회하므로
+     * 페이지 크기와 관계없이 쿼리는 네 번이다.
+     * keyword 는 아이디 접두어, suspended 가 null 이면 정지 여부로 거르지 않는다.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<AdminUserSummary> getUserDirectory(String sortBy, String keyword, String role,
+                                                                 Boolean suspended, String cursor, Integer size) {
+        String sort = UserDirectoryCursor.normalizeSort(sortBy);
+        UserDirectoryCursor after = (cursor == null || cursor.isEmpty())
+                ? UserDirectoryCursor.first(sort) : UserDirectoryCursor.decode(cursor, sort);
+        int pageSize = (size == null || size <= 0) ? DIRECTORY_DEFAULT_SIZE : Math.min(size, DIRECTORY_MAX_SIZE);
+        String prefix = (keyword == null || keyword.isBlank()) ? null : escapeLike(keyword.trim()) + "%";
+        User.Role roleFilter = parseRole(role);
+        LocalDateTime now = LocalDateTime.now();
+        
+        // 다음 페이지 존재 여부 확인을 위해 한 건 더 조회
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<User> users;
+        switch (sort) {
+            case UserDirectoryCursor.SORT_USERNAME:
+                users = userRepository.findDirectoryByUsernameAfter(after.getUsername(), prefix, roleFilter, suspended, now, limit);
+                break;
+            case UserDirectoryCursor.SORT_POINTS:
+                users = userRepository.findDirectoryByPointsAfter(after.getPoints(), after.getId(), prefix, roleFilter, suspended, now, limit);
+                break;
+            default:
+                users = userRepository.findDirectoryByRecentAfter(after.getId(), prefix, roleFilter, suspended, now, limit);
+                break;
+        }
+        
+        boolean hasNext = users.size() > pageSize;
+        List<User> page = hasNext ? users.subList(0, pageSize) : users;
+        String nextCursor = hasNext ? UserDirectoryCursor.after(page.get(page.size() - 1), sort).encode() : null;
+        if (page.isEmpty()) {
+            return new CursorPageResponse<>(List.of(), pageSize, null);
+        }
+        
+        List<Long> ids = page.stream().map(User::getId).collect(Collectors.toList());
+        Map<Long, Long> postCounts = toCountMap(postRepository.countByUserIdIn(ids));
+        Map<Long, Long> commentCounts = toCountMap(commentRepository.countByUserIdIn(ids));
+        Map<Long, UserSuspension> suspensions = new HashMap<>();
+        for (UserSuspension suspension : userSuspensionRepository.findActiveByUserIdIn(ids, now)) {
+            // 활성 정지가 여러 건이면 가장 최근 것을 사용
+            suspensions.merge(suspension.getUser().getId(), suspension,
+                    (current, other) -> current.getId() > other.getId() ? current : other);
+        }
+        
+        List<AdminUserSummary> content = page.stream()
+                .map(user -> new AdminUserSummary(user,
+                        postCounts.getOrDefault(user.getId(), 0L),
+                        commentCounts.getOrDefault(user.getId(), 0L),
+                        suspensions.get(user.getId())))
+                .collect(Collectors.toList());
+        return new CursorPageResponse<>(content, pageSize, nextCursor);
+    }
+    
+    private Map<Long, Long> toCountMap(List<UserCount> counts) {
+        return counts.stream().collect(Collectors.toMap(UserCount::getUserId, UserCount::getCount));
+    }
+    
+    private User.Role parseRole(String role) {
+        if (role == null || role.isBlank() || "all".equalsIgnoreCase(role)) {
+            return null;
+        }
+        try {
+            return User.Role.valueOf(role.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid role: " + role);
+        }
+    }
+    
+    // LIKE 접두어 검색에서 와일드카드 문자를 그대로 비교하도록 이스케이프
+    private String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+    
+    private <T> void writeJsonArray(OutputStream out, Stream<T> entities, Function<T, ?> mapper) throws IOException {
+        // 값마다 flush 하지 않고 청크마다 flush
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        
+        generator.writeStartArray();
+        List<T> chunk = new ArrayList<>(EXPORT_CHUNK_SIZE);
+        Iterator<T> iterator = entities.iterator();
+        while (iterator.hasNext()) {
+            chunk.add(iterator.next());
+            if (chunk.size() == EXPORT_CHUNK_SIZE || !iterator.hasNext()) {
+                // 청크의 엔티티가 모두 영속 상태일 때 변환해야 지연 로딩 컬렉션이 한 번에 배치 조회된다
+                for (T entity : chunk) {
+                    writer.writeValue(generator, mapper.apply(entity));
+                }
+                generator.flush();
+                chunk.clear();
+                entityManager.clear();
+            }
+        }
+        generator.writeEndArray();
+        generator.close();
     }
     
     public void suspendUser(Long userId, int days, String reason) {
@@ -59,7 +239,12 @@ public class AdminService {
             suspension.setEndDate(LocalDateTime.now().plusDays(days));
         } // days가 0 이하면 영구정지 (endDate가 null)
         
-        userSuspensionRepository.save(suspension);
+        UserSuspension savedSuspension = userSuspensionRepository.save(suspension);
+        suspensionRegistry.suspend(userId, savedSuspension);
+        userPrincipalCache.evict(user.getUsername());
+        invalidationPublisher.publish(InvalidationEvent.Kind.USER, userId);
+        // 정지가 해제돼도 정지 전에 발급된 토큰은 다시 쓸 수 없게 한다
+        tokenRevocationRegistry.revokeAllForUser(userId);
     }
     
     public void unsuspendUser(Long userId) {
@@ -68,6 +253,9 @@ public class AdminService {
             suspension.get().setIsActive(false);
             userSuspensionRepository.save(suspension.get());
         }
+        suspensionRegistry.lift(userId);
+        userPrincipalCache.evictById(userId);
+        invalidationPublisher.publish(InvalidationEvent.Kind.USER, userId);
     }
     
     public void hidePost(Long postId, String reason) {
@@ -79,6 +267,9 @@ public class AdminService {
         
         post.hide(adminUsername, reason);
         postRepository.save(post);
+        postSearchIndex.remove(postId);
+        hotRanking.remove(postId);
+        contentVersions.postChanged(postId);
     }
     
     public void unhidePost(Long postId) {
@@ -87,6 +278,9 @@ public class AdminService {
         
         post.unhide();
         postRepository.save(post);
+        postSearchIndex.index(post);
+        hotRanking.index(post);
+        contentVersions.postChanged(postId);
     }
     
     public void deletePost(Long postId) {
@@ -94,11 +288,15 @@ public class AdminService {
                 .orElseThrow(() -> new RuntimeException("Post not found"));
         
         postRepository.delete(post);
+        postSearchIndex.remove(postId);
+        hotRanking.remove(postId);
+        viewCountBuffer.discard(postId);
+        contentVersions.postChanged(postId);
+        contentVersions.commentsChanged(postId);
     }
     
     public boolean isUserSuspended(Long userId) {
-        Optional<UserSuspension> suspension = userSuspensionRepository.findActiveSuspensionByUserId(userId, LocalDateTime.now());
-        return suspension.isPresent();
+        return suspensionRegistry.isSuspended(userId);
     }
     
     public UserSuspension getUserSuspension(Long userId) {
@@ -6,9 +6,14 @@ import com.blog.demo.entity.UserSuspension;
 import com.blog.demo.repository.UserRepository;
 import com.blog.demo.repository.UserSuspensionRepository;
 import com.blog.demo.security.JwtUtil;
+import com.blog.demo.security.LoginAttemptThrottle;
+import com.blog.demo.security.TokenRevocationRegistry;
+import io.jsonwebtoken.Claims;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -34,6 +39,15 @@ public class AuthService {
     @Autowired
     private UserSuspensionRepository userSuspensionRepository;
     
+    @Autowired
+    private LoginAttemptThrottle loginAttemptThrottle;
+    
+    @Autowired
+    private PointsLedger pointsLedger;
+    
+    @Autowired
+    private TokenRevocationRegistry tokenRevocationRegistry;
+    
     public AuthResponse register(RegisterRequest request) {
         if (userRepository.existsByUsername(request.getUsername())) {
             throw new RuntimeException("Username already exists");
@@ -55,9 +69,16 @@ public class AuthService {
         return new AuthResponse(token, new UserResponse(savedUser));
     }
     
-    public AuthResponse login(LoginRequest request) {
-        User user = userRepository.findByUsername(request.getUsername())
-            .orElseThrow(() -> new RuntimeException("User not found"));
+    public AuthResponse login(LoginRequest request, String clientIp) {
+        // 최근 실패가 많은 아이디/IP 는 비밀번호 확인 전에 거절
+        loginAttemptThrottle.check(request.getUsername(), clientIp);
+        
+        Optional<User> found = userRepository.findByUsername(request.getUsername());
+        if (found.isEmpty()) {
+            loginAttemptThrottle.recordFailure(request.getUsername(), clientIp);
+            throw new RuntimeException("User not found");
+        }
+        User user = found.get();
         
         // 사용자 정지 상태 확인
         Optional<UserSuspension> suspension = userSuspensionRepository.findActiveSuspensionByUserId(user.getId(), LocalDateTime.now());
@@ -69,22 +90,38 @@ public class AuthService {
             throw new RuntimeException(message);
         }
         
-        Authentication authentication = authenticationManager.authenticate(
-            new UsernamePasswordAuthenticationToken(
-                request.getUsername(),
-                request.getPassword()
-            )
-        );
+        Authentication authentication;
+        try {
+            authentication = authenticationManager.authenticate(
+                new UsernamePasswordAuthenticationToken(
+                    request.getUsername(),
+                    request.getPassword()
+                )
+            );
+        } catch (BadCredentialsException e) {
+            loginAttemptThrottle.recordFailure(request.getUsername(), clientIp);
+            throw e;
+        }
+        loginAttemptThrottle.recordSuccess(request.getUsername());
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
         String jwt = jwtUtil.generateToken(authentication);
         
-        user.addPoints(10);
-        userRepository.save(user);
+        // users 행은 건드리지 않고 원장에만 기록한다
+        pointsLedger.award(user, 10, PointsLedger.LOGIN);
         
         return new AuthResponse(jwt, new UserResponse(user));
     }
     
+    // 토큰을 만료 전에 폐기한다. 유효하지 않은 토큰이면 할 일이 없다
+    public void logout(String token) {
+        Claims claims = token != null ? jwtUtil.getVerifiedClaims(token) : null;
+        if (claims != null) {
+            tokenRevocationRegistry.revoke(claims);
+        }
+        SecurityContextHolder.clearContext();
+    }
+    
     public UserResponse getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String username = authentication.getName();
@@ -95,9 +132,22 @@ public class AuthService {
         return new UserResponse(user);
     }
     
-    public java.util.List<UserResponse> getAllUsers() {
-        return userRepository.findAll().stream()
+    // 디버그용 사용자 목록: id 순 페이지. 커서는 마지막 사용자 id
+    public CursorPageResponse<UserResponse> getAllUsers(String cursor, Integer size) {
+        int pageSize = (size == null || size <= 0) ? 50 : Math.min(size, 200);
+        long afterId;
+        try {
+            afterId = (cursor == null || cursor.isEmpty()) ? 0L : Long.parseLong(cursor);
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Invalid cursor: " + cursor);
+        }
+        
+        java.util.List<User> users = userRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, pageSize + 1));
+        boolean hasNext = users.size() > pageSize;
+        java.util.List<User> page = hasNext ? users.subList(0, pageSize) : users;
+        String nextCursor = hasNext ? String.valueOf(page.get(page.size() - 1).getId()) : null;
+        return new CursorPageResponse<>(page.stream()
             .map(UserResponse::new)
-            .collect(java.util.stream.Collectors.toList());
+            .collect(java.util.stream.Collectors.toList()), pageSize, nextCursor);
     }
 }
\ No newline at end of file
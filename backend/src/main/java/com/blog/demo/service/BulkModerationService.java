@@ -0,0 +1,219 @@
+package com.blog.demo.service;
+
+import com.blog.demo.config.BlockingThreadFactories;
+import com.blog.demo.dto.BulkModerationRequest;
+import com.blog.demo.entity.Post;
+import com.blog.demo.entity.User;
+import com.blog.demo.repository.PostRepository;
+import com.blog.demo.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 게시글 일괄 숨김/해제/삭제.
+ * 대상 id 를 청크 단위로 나누어 청크마다 하나의 트랜잭션에서 집합 단위 UPDATE/DELETE 를 실행하고,
+ * 커밋된 청크만 검색 색인과 랭킹에 반영한다. 작업은 백그라운드에서 하나씩 실행되며 진행 상황은 ModerationJob 으로 조회한다.
+ */
+@Service
+public class BulkModerationService {
+
+    public static final String HIDE = "hide";
+    public static final String UNHIDE = "unhide";
+    public static final String DELETE = "delete";
+
+    private static final String HIDE_SQL = "UPDATE posts SET is_hidden = TRUE, hidden_by = :hiddenBy, " +
+            "hidden_date = :hiddenDate, hidden_reason = :reason WHERE id IN (:ids) AND is_hidden = FALSE";
+    private static final String UNHIDE_SQL = "UPDATE posts SET is_hidden = FALSE, hidden_by = NULL, " +
+            "hidden_date = NULL, hidden_reason = NULL WHERE id IN (:ids) AND is_hidden = TRUE";
+    // 기간 필터를 비웠을 때 쓰는 양 끝 값
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1000, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST = LocalDateTime.of(9999, 12, 31, 0, 0);
+    // 자식 테이블부터 삭제
+    private static final String[] DELETE_SQL = {
+            "DELETE FROM post_likes WHERE post_id IN (:ids)",
+            "DELETE FROM comments WHERE post_id IN (:ids)",
+            "DELETE FROM file_attachments WHERE post_id IN (:ids)",
+            "DELETE FROM posts WHERE id IN (:ids)"
+    };
+
+    @Value("${app.moderation.chunkSize:500}")
+    private int chunkSize;
+
+    @Value("${app.moderation.jobRetentionMs:3600000}")
+    private long jobRetentionMs;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private PostSearchIndex postSearchIndex;
+
+    @Autowired
+    private HotRanking hotRanking;
+
+    @Autowired
+    private ViewCountBuffer viewCountBuffer;
+
+    @Autowired
+    private ContentVersions contentVersions;
+
+    @Autowired
+    private BlockingThreadFactories blockingThreadFactories;
+
+    private ExecutorService executor;
+
+    private final Map<String, ModerationJob> jobs = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        executor = Executors.newSingleThreadExecutor(blockingThreadFactories.newThreadFactory("bulk-moderation"));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    public ModerationJob submit(String action, BulkModerationRequest request) {
+        String adminUsername = SecurityContextHolder.getContext().getAuthentication().getName();
+        List<Long> postIds = resolveTargets(request);
+
+        pruneFinishedJobs();
+        ModerationJob job = new ModerationJob(UUID.randomUUID().toString(), action, postIds.size());
+        jobs.put(job.getId(), job);
+        executor.submit(() -> run(job, postIds, adminUsername, request.getReason()));
+        return job;
+    }
+
+    public ModerationJob getJob(String jobId) {
+        ModerationJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new RuntimeException("Moderation job not found: " + jobId);
+        }
+        return job;
+    }
+
+    private List<Long> resolveTargets(BulkModerationRequest request) {
+        if (request.getPostIds() != null && !request.getPostIds().isEmpty()) {
+            return new ArrayList<>(new LinkedHashSet<>(request.getPostIds()));
+        }
+
+        boolean hasCategory = request.getCategory() != null && !request.getCategory().isEmpty();
+        boolean hasAuthor = request.getAuthor() != null && !request.getAuthor().isEmpty();
+        if (!hasAuthor && !hasCategory && request.getFrom() == null && request.getTo() == null) {
+            throw new RuntimeException("Either postIds or at least one filter is required");
+        }
+
+        Long userId = null;
+        if (hasAuthor) {
+            userId = userRepository.findByUsername(request.getAuthor())
+                    .map(User::getId)
+                    .orElseThrow(() -> new RuntimeException("User not found: " + request.getAuthor()));
+        }
+        // 열린 기간은 양 끝 값으로 닫아 항상 인덱스 범위 조회가 되게 한다
+        LocalDateTime from = request.getFrom() != null ? request.getFrom() : EARLIEST;
+        LocalDateTime to = request.getTo() != null ? request.getTo() : LATEST;
+        if (userId != null) {
+            return postRepository.findIdsByUserFilter(userId, hasCategory ? request.getCategory() : null, from, to);
+        }
+
+        List<Long> ids = new ArrayList<>();
+        for (boolean hidden : new boolean[] {false, true}) {
+            ids.addAll(hasCategory
+                    ? postRepository.findIdsByCategoryAndCreatedRange(request.getCategory(), hidden, from, to)
+                    : postRepository.findIdsByCreatedRange(hidden, from, to));
+        }
+        Collections.sort(ids);
+        return ids;
+    }
+
+    private void run(ModerationJob job, List<Long> postIds, String adminUsername, String reason) {
+        job.start();
+        try {
+            for (int from = 0; from < postIds.size(); from += chunkSize) {
+                List<Long> chunk = postIds.subList(from, Math.min(from + chunkSize, postIds.size()));
+                Integer affected = transactionTemplate.execute(status -> apply(job.getAction(), chunk, adminUsername, reason));
+                syncIndexes(job.getAction(), chunk);
+                job.advance(chunk.size(), affected != null ? affected : 0);
+            }
+            job.complete();
+        } catch (RuntimeException e) {
+            job.fail(e.getMessage());
+        }
+    }
+
+    private int apply(String action, List<Long> chunk, String adminUsername, String reason) {
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", chunk);
+        switch (action) {
+            case HIDE:
+                params.addValue("hiddenBy", adminUsername)
+                        .addValue("hiddenDate", Timestamp.valueOf(LocalDateTime.now()))
+                        .addValue("reason", reason);
+                return namedParameterJdbcTemplate.update(HIDE_SQL, params);
+            case UNHIDE:
+                return namedParameterJdbcTemplate.update(UNHIDE_SQL, params);
+            case DELETE:
+                int deleted = 0;
+                for (String sql : DELETE_SQL) {
+                    deleted = namedParameterJdbcTemplate.update(sql, params);
+                }
+                // 마지막 문장(posts)의 삭제 건수
+                return deleted;
+            default:
+                throw new RuntimeException("Unknown moderation action: " + action);
+        }
+    }
+
+    private void syncIndexes(String action, List<Long> chunk) {
+        if (UNHIDE.equals(action)) {
+            for (Post post : postRepository.findAllWithUserByIdIn(chunk)) {
+                postSearchIndex.index(post);
+                hotRanking.index(post);
+            }
+            chunk.forEach(contentVersions::postChanged);
+            return;
+        }
+        for (Long postId : chunk) {
+            postSearchIndex.remove(postId);
+            hotRanking.remove(postId);
+            contentVersions.postChanged(postId);
+            if (DELETE.equals(action)) {
+                viewCountBuffer.discard(postId);
+                contentVersions.commentsChanged(postId);
+            }
+        }
+    }
+
+    private void pruneFinishedJobs() {
+        LocalDateTime threshold = LocalDateTime.now().minusNanos(jobRetentionMs * 1_000_000L);
+        jobs.values().removeIf(job -> job.isFinished() && job.getFinishedDate().isBefore(threshold));
+    }
+}
@@ -2,21 +2,33 @@ package com.blog.demo.service;
 
 import com.blog.demo.dto.CommentRequest;
 import com.blog.demo.dto.CommentResponse;
+import com.blog.demo.dto.CursorPageResponse;
 import com.blog.demo.entity.Comment;
 import com.blog.demo.entity.Post;
 import com.blog.demo.entity.User;
 import com.blog.demo.repository.CommentRepository;
 import com.blog.demo.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(value = "blog.service", histogram = true)
 public class CommentService {
     
+    private static final String ORDER_ASC = "asc";
+    private static final String ORDER_DESC = "desc";
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+    
     @Autowired
     private CommentRepository commentRepository;
     
@@ -26,11 +38,41 @@ public class CommentService {
     @Autowired
     private UserRepository userRepository;
     
-    public List<CommentResponse> getCommentsByPostId(Long postId) {
-        return commentRepository.findByPostIdOrderByCreatedDateAsc(postId)
-                .stream()
+    @Autowired
+    private ContentVersions contentVersions;
+    
+    /**
+     * 댓글을 id 기준 키셋 페이지로 조회한다. order 가 "desc" 면 최신순, 그 외에는 오래된 순.
+     */
+    public CursorPageResponse<CommentResponse> getCommentsByPostId(Long postId, String order, String cursor, Integer size) {
+        boolean newestFirst = ORDER_DESC.equalsIgnoreCase(order);
+        String direction = newestFirst ? ORDER_DESC : ORDER_ASC;
+        int pageSize = (size == null || size <= 0) ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+        // 다음 페이지 존재 여부 확인을 위해 한 건 더 조회
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        
+        List<Comment> comments;
+        if (newestFirst) {
+            long before = (cursor == null || cursor.isEmpty()) ? Long.MAX_VALUE : decodeCursor(cursor, direction);
+            comments = commentRepository.findPageByPostIdBefore(postId, before, limit);
+        } else {
+            long after = (cursor == null || cursor.isEmpty()) ? 0L : decodeCursor(cursor, direction);
+            comments = commentRepository.findPageByPostIdAfter(postId, after, limit);
+        }
+        
+        boolean hasNext = comments.size() > pageSize;
+        List<Comment> page = hasNext ? comments.subList(0, pageSize) : comments;
+        String nextCursor = hasNext ? encodeCursor(direction, page.get(page.size() - 1).getId()) : null;
+        
+        contentVersions.recordCommentAuthors(postId, page.stream()
+                .filter(comment -> comment.getUser() != null)
+                .map(comment -> comment.getUser().getId())
+                .collect(Collectors.toSet()));
+        
+        List<CommentResponse> content = page.stream()
                 .map(CommentResponse::new)
                 .collect(Collectors.toList());
+        return new CursorPageResponse<>(content, pageSize, nextCursor);
     }
     
     public CommentResponse createComment(Long postId, CommentRequest request) {
@@ -53,6 +95,7 @@ public class CommentService {
         comment.setUser(user);
         
         Comment savedComment = commentRepository.save(comment);
+        contentVersions.commentsChanged(postId);
         return new CommentResponse(savedComment);
     }
     
@@ -74,6 +117,7 @@ public class CommentService {
         comment.setContent(request.getContent());
         
         Comment updatedComment = commentRepository.save(comment);
+        contentVersions.commentsChanged(comment.getPost().getId());
         return new CommentResponse(updatedComment);
     }
     
@@ -93,9 +137,28 @@ public class CommentService {
         }
         
         commentRepository.deleteById(commentId);
+        contentVersions.commentsChanged(comment.getPost().getId());
     }
     
     public long getCommentCount(Long postId) {
         return commentRepository.countByPostId(postId);
     }
+    
+    private static String encodeCursor(String direction, Long id) {
+        String raw = direction + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private static long decodeCursor(String cursor, String direction) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 2);
+            if (parts.length != 2 || !parts[0].equals(direction)) {
+                throw new IllegalArgumentException("Cursor does not match order: " + direction);
+            }
+            return Long.parseLong(parts[1]);
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid cursor: " + cursor);
+        }
+    }
 }
\ No newline at end of file
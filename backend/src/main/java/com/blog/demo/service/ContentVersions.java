@@ -0,0 +1,198 @@
+package com.blog.demo.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 조건부 GET 용 콘텐츠 버전.
+ * 게시글, 게시글별 댓글 목록, 피드, 사용자 정보가 바뀔 때마다 단조 증가하는 번호와 변경 시각을 기록하고,
+ * 이 값으로 ETag 와 Last-Modified 를 만든다. 본문을 읽거나 직렬화하지 않고 304 여부를 판단할 수 있다.
+ * 변경은 커밋 후에 반영하므로, 새 본문에 이전 ETag 가 붙을 수는 있어도 그 반대는 생기지 않는다.
+ * 조회수는 ETag 에 포함하지 않는다. 조회만 있었다면 304 로 이전 조회수가 보이고, 다른 변경 때 함께 갱신된다.
+ * 작성자 정보(포인트 등)는 응답에 실린 사용자별 번호로 판단하므로, 한 사용자의 변경은 그 사용자가 실린 응답만 바꾼다.
+ * 포인트는 PointsLedger 집계로 잔액이 바뀔 때만 바꾸므로, 적립 직후 집계 전까지는 304 로 이전 포인트가 보일 수 있다.
+ * ETag 는 약한 ETag 이다. 같은 내용을 gzip 으로 보내도 같은 값이며, Tomcat 은 강한 ETag 가 붙은 응답은 압축하지 않는다.
+ * 다른 인스턴스에는 InvalidationPublisher 로 알리고, 받은 변경은 InvalidationApplier 가 bump* 로 반영한다.
+ */
+@Component
+public class ContentVersions {
+    
+    private static final String FEED = "feed";
+    
+    // 재시작 후 같은 번호가 다시 쓰여도 이전 ETag 와 겹치지 않도록 ETag 에 포함
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    // 재시작 이전 변경은 알 수 없으므로 기록이 없는 항목은 시작 시각에 바뀐 것으로 본다 (HTTP 날짜는 초 단위)
+    private final long startedMillis = System.currentTimeMillis() / 1000 * 1000;
+    
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<String, Stamp> stamps = new ConcurrentHashMap<>();
+    // 게시글 상세/댓글 목록 키 -> 그 응답에 실린 작성자 id
+    private final Map<String, Set<Long>> authorsByKey = new ConcurrentHashMap<>();
+    
+    @Autowired
+    private InvalidationPublisher invalidationPublisher;
+    
+    public void postChanged(Long postId) {
+        afterCommit(() -> {
+            bumpPost(postId);
+            invalidationPublisher.enqueue(new InvalidationEvent(InvalidationEvent.Kind.POST, postId));
+        });
+    }
+    
+    public void commentsChanged(Long postId) {
+        afterCommit(() -> {
+            bumpComments(postId);
+            invalidationPublisher.enqueue(new InvalidationEvent(InvalidationEvent.Kind.COMMENTS, postId));
+        });
+    }
+    
+    /**
+     * 게시글/댓글 응답에 실리는 사용자 정보(포인트 등)가 바뀌었다. 포인트는 집계 시 PointsLedger 가 부른다.
+     */
+    public void authorChanged(Long userId) {
+        afterCommit(() -> {
+            bumpAuthor(userId);
+            invalidationPublisher.enqueue(new InvalidationEvent(InvalidationEvent.Kind.AUTHOR, userId));
+        });
+    }
+    
+    /**
+     * 게시글 상세 응답에 실린 작성자를 기록한다. 이후 그 작성자가 바뀌면 상세의 ETag 도 바뀐다.
+     */
+    public void recordPostAuthor(Long postId, Long userId) {
+        if (userId != null) {
+            recordAuthors(postKey(postId), Set.of(userId));
+        }
+    }
+    
+    public void recordCommentAuthors(Long postId, Collection<Long> userIds) {
+        recordAuthors(commentsKey(postId), userIds);
+    }
+    
+    // 이 인스턴스에만 반영 (다른 인스턴스에서 받은 변경)
+    void bumpPost(Long postId) {
+        bump(postKey(postId));
+        bump(FEED);
+    }
+    
+    void bumpComments(Long postId) {
+        bump(commentsKey(postId));
+    }
+    
+    void bumpAuthor(Long userId) {
+        bump(authorKey(userId));
+    }
+    
+    public Stamp post(Long postId) {
+        return combine("p" + postId, stamp(postKey(postId)), authorsStamp(postKey(postId)));
+    }
+    
+    public Stamp comments(Long postId) {
+        return combine("c" + postId, stamp(commentsKey(postId)), authorsStamp(commentsKey(postId)));
+    }
+    
+    public Stamp feed() {
+        Stamp feed = stamp(FEED);
+        return new Stamp(etag("f", Long.toString(feed.version)), feed.version, feed.lastModified);
+    }
+    
+    private void bump(String key) {
+        long version = sequence.incrementAndGet();
+        long now = Math.max(startedMillis, System.currentTimeMillis() / 1000 * 1000);
+        // 동시에 바뀌면 더 큰 번호만 남긴다
+        stamps.merge(key, new Stamp(null, version, now),
+                (current, next) -> current.version > next.version ? current : next);
+    }
+    
+    private Stamp stamp(String key) {
+        Stamp stamp = stamps.get(key);
+        return stamp != null ? stamp : new Stamp(null, 0L, startedMillis);
+    }
+    
+    private void recordAuthors(String key, Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        // 댓글 목록은 페이지마다 작성자가 다르므로 합친다. 작성자가 늘면 ETag 가 한 번 바뀐다
+        authorsByKey.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).addAll(userIds);
+    }
+    
+    // 응답에 실린 작성자들 중 가장 최근 변경. 기록이 없으면(첫 응답 전) 변경 없음으로 본다
+    private Stamp authorsStamp(String key) {
+        Set<Long> userIds = authorsByKey.get(key);
+        long version = 0L;
+        long lastModified = startedMillis;
+        if (userIds != null) {
+            for (Long userId : userIds) {
+                Stamp author = stamp(authorKey(userId));
+                version = Math.max(version, author.version);
+                lastModified = Math.max(lastModified, author.lastModified);
+            }
+        }
+        return new Stamp(null, version, lastModified);
+    }
+    
+    private Stamp combine(String prefix, Stamp content, Stamp authors) {
+        return new Stamp(etag(prefix, content.version + "." + authors.version),
+                Math.max(content.version, authors.version),
+                Math.max(content.lastModified, authors.lastModified));
+    }
+    
+    private String etag(String prefix, String version) {
+        return "W/\"" + prefix + "-" + epoch + "-" + version + "\"";
+    }
+    
+    private static String postKey(Long postId) {
+        return "post:" + postId;
+    }
+    
+    private static String commentsKey(Long postId) {
+        return "comments:" + postId;
+    }
+    
+    private static String authorKey(Long userId) {
+        return "user:" + userId;
+    }
+    
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+    
+    public static class Stamp {
+        
+        private final String eTag;
+        private final long version;
+        private final long lastModified;
+        
+        private Stamp(String eTag, long version, long lastModified) {
+            this.eTag = eTag;
+            this.version = version;
+            this.lastModified = lastModified;
+        }
+        
+        public String getETag() {
+            return eTag;
+        }
+        
+        public long getLastModified() {
+            return lastModified;
+        }
+    }
+}
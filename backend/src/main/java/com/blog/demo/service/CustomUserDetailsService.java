@@ -15,6 +15,9 @@ public class CustomUserDetailsService implements UserDetailsService {
     @Autowired
     UserRepository userRepository;
 
+    @Autowired
+    UserPrincipalCache userPrincipalCache;
+
     @Override
     @Transactional
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
@@ -24,6 +27,21 @@ public class CustomUserDetailsService implements UserDetailsService {
         return UserPrincipal.create(user);
     }
 
+    /**
+     * JWT 인증 경로용. 캐시에 있으면 DB 를 조회하지 않는다.
+     * 비밀번호 검증(로그인)에는 항상 최신 값을 쓰도록 loadUserByUsername 을 사용한다.
+     */
+    public UserDetails loadCachedUserByUsername(String username) throws UsernameNotFoundException {
+        UserPrincipal cached = userPrincipalCache.get(username);
+        if (cached != null) {
+            return cached;
+        }
+
+        UserPrincipal principal = (UserPrincipal) loadUserByUsername(username);
+        userPrincipalCache.put(principal);
+        return principal;
+    }
+
     @Transactional
     public UserDetails loadUserById(Long id) {
         User user = userRepository.findById(id)
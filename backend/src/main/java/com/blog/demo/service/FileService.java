@@ -1,52 +1,155 @@
 package com.blog.demo.service;
 
+import com.blog.demo.config.BlockingThreadFactories;
 import com.blog.demo.entity.FileAttachment;
 import com.blog.demo.entity.Post;
 import com.blog.demo.repository.FileAttachmentRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
-import software.amazon.awssdk.core.sync.RequestBody;
-import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
 
+/**
+ * 첨부파일 업로드. 파일들을 비동기 S3 클라이언트로 동시에 올리며,
+ * 서버 전체의 동시 업로드 수는 app.upload.maxConcurrentFiles 로 제한한다.
+ * 요청 본문은 버퍼링하지 않고 스트림으로 전달하며, 큰 파일은 클라이언트가 멀티파트로 병렬 전송한다.
+ */
 @Service
+@Timed(value = "blog.service", histogram = true)
 public class FileService {
     
-    private static final String BUCKET_NAME = "pch-250712";
+    @Value("${app.s3.bucket:pch-250712}")
+    private String bucketName;
+    
+    @Value("${app.s3.endpoint:}")
+    private String endpoint;
+    
+    @Value("${app.upload.maxConcurrentFiles:4}")
+    private int maxConcurrentFiles;
     
     @Autowired
-    private S3Client s3Client;
+    private S3AsyncClient s3AsyncClient;
     
     @Autowired
     private FileAttachmentRepository fileAttachmentRepository;
     
-    public FileAttachment uploadFile(MultipartFile file, Post post) throws IOException {
-        String originalFileName = file.getOriginalFilename();
-        String fileExtension = originalFileName.substring(originalFileName.lastIndexOf("."));
-        String s3Key = "blog-files/" + UUID.randomUUID().toString() + fileExtension;
+    @Autowired
+    private BlockingThreadFactories blockingThreadFactories;
+    
+    @Autowired
+    private ContentVersions contentVersions;
+    
+    // 업로드 스트림을 읽어 비동기 요청 본문으로 넘기는 스레드
+    private ExecutorService streamExecutor;
+    
+    private Semaphore uploadPermits;
+    
+    @PostConstruct
+    public void init() {
+        streamExecutor = Executors.newFixedThreadPool(maxConcurrentFiles, blockingThreadFactories.newThreadFactory("s3-upload"));
+        uploadPermits = new Semaphore(maxConcurrentFiles);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        streamExecutor.shutdown();
+    }
+    
+    public List<FileAttachment> uploadFiles(List<MultipartFile> files, Post post) throws IOException {
+        List<FileAttachment> attachments = new ArrayList<>();
+        List<CompletableFuture<?>> uploads = new ArrayList<>();
         
+        try {
+            for (MultipartFile file : files) {
+                FileAttachment attachment = newAttachment(file, post);
+                uploadPermits.acquire();
+                CompletableFuture<?> upload;
+                try {
+                    upload = putObject(file, attachment);
+                } catch (IOException | RuntimeException e) {
+                    uploadPermits.release();
+                    throw e;
+                }
+                upload.whenComplete((response, error) -> uploadPermits.release());
+                attachments.add(attachment);
+                uploads.add(upload);
+            }
+            CompletableFuture.allOf(uploads.toArray(new CompletableFuture[0])).join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            deleteUploaded(attachments, uploads);
+            throw new IOException("File upload interrupted", e);
+        } catch (CompletionException e) {
+            deleteUploaded(attachments, uploads);
+            throw new IOException("File upload failed", e.getCause());
+        } catch (IOException | RuntimeException e) {
+            deleteUploaded(attachments, uploads);
+            throw e;
+        }
+        
+        List<FileAttachment> saved = fileAttachmentRepository.saveAll(attachments);
+        contentVersions.postChanged(post.getId());
+        return saved;
+    }
+    
+    private CompletableFuture<?> putObject(MultipartFile file, FileAttachment attachment) throws IOException {
         PutObjectRequest putObjectRequest = PutObjectRequest.builder()
-                .bucket(BUCKET_NAME)
-                .key(s3Key)
+                .bucket(bucketName)
+                .key(attachment.getS3Key())
                 .contentType(file.getContentType())
+                .contentLength(file.getSize())
                 .build();
         
-        s3Client.putObject(putObjectRequest, RequestBody.fromInputStream(file.getInputStream(), file.getSize()));
-        
-        String s3Url = String.format("https://%s.s3.ap-northeast-2.amazonaws.com/%s", BUCKET_NAME, s3Key);
+        AsyncRequestBody body = AsyncRequestBody.fromInputStream(file.getInputStream(), file.getSize(), streamExecutor);
+        return s3AsyncClient.putObject(putObjectRequest, body);
+    }
+    
+    private FileAttachment newAttachment(MultipartFile file, Post post) {
+        String originalFileName = file.getOriginalFilename();
+        String fileExtension = originalFileName.substring(originalFileName.lastIndexOf("."));
+        String s3Key = "blog-files/" + UUID.randomUUID().toString() + fileExtension;
         
         FileAttachment fileAttachment = new FileAttachment();
         fileAttachment.setOriginalFileName(originalFileName);
         fileAttachment.setS3Key(s3Key);
-        fileAttachment.setS3Url(s3Url);
+        fileAttachment.setS3Url(objectUrl(s3Key));
         fileAttachment.setContentType(file.getContentType());
         fileAttachment.setFileSize(file.getSize());
         fileAttachment.setPost(post);
-        
-        return fileAttachmentRepository.save(fileAttachment);
+        return fileAttachment;
+    }
+    
+    private String objectUrl(String s3Key) {
+        if (StringUtils.hasText(endpoint)) {
+            return String.format("%s/%s/%s", endpoint, bucketName, s3Key);
+        }
+        return String.format("https://%s.s3.ap-northeast-2.amazonaws.com/%s", bucketName, s3Key);
+    }
+    
+    // 일부 파일만 올라간 경우 남은 객체를 정리
+    private void deleteUploaded(List<FileAttachment> attachments, List<CompletableFuture<?>> uploads) {
+        for (int i = 0; i < uploads.size(); i++) {
+            FileAttachment attachment = attachments.get(i);
+            uploads.get(i).thenRun(() -> s3AsyncClient.deleteObject(request -> request
+                    .bucket(bucketName)
+                    .key(attachment.getS3Key())));
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,204 @@
+package com.blog.demo.service;
+
+import com.blog.demo.entity.Post;
+import com.blog.demo.repository.PostRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * "hot" 정렬용 메모리 내 랭킹.
+ * 점수 = 부호(추천-비추천) * log10(|추천-비추천|) + 조회수 가중치 * log10(1 + 조회수) + 작성 시각 / 감쇠 주기.
+ * 작성 시각 항이 시간이 지나도 변하지 않으므로 새 글이 자연스럽게 위로 오고,
+ * 점수는 추천, 조회, 숨김, 삭제 시에만 다시 계산하면 된다.
+ * 조회수는 DB 에 반영된 값만 쓰며, 조회 요청마다가 아니라 ViewCountBuffer 가 반영한 묶음 단위로 더한다.
+ * 정렬된 스킵 리스트에서 커서 위치를 찾아 페이지를 읽으므로 조회는 O(log n + page) 이다.
+ * 숨김 처리된 게시글은 포함하지 않는다.
+ */
+@Component
+public class HotRanking {
+
+    private static final int REBUILD_BATCH_SIZE = 500;
+    // 작성 시각 항의 기준점. 값의 크기를 줄이기 위한 것으로 순서에는 영향이 없다
+    private static final long EPOCH_SECONDS = LocalDateTime.of(2024, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+
+    private static final Comparator<Entry> ORDER = Comparator.comparingDouble(Entry::getScore).reversed()
+            .thenComparing(Comparator.comparingLong(Entry::getId).reversed());
+
+    @Value("${app.hot.decaySeconds:45000}")
+    private long decaySeconds;
+
+    @Value("${app.hot.viewWeight:0.5}")
+    private double viewWeight;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    private final NavigableSet<Entry> all = new ConcurrentSkipListSet<>(ORDER);
+    private final Map<String, NavigableSet<Entry>> byCategory = new ConcurrentHashMap<>();
+    private final Map<Long, Stats> stats = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        all.clear();
+        byCategory.clear();
+        stats.clear();
+
+        long lastId = 0L;
+        List<Post> batch;
+        do {
+            batch = postRepository.findBatchWithUserAfter(lastId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+            for (Post post : batch) {
+                if (!Boolean.TRUE.equals(post.getIsHidden())) {
+                    put(newStats(post));
+                }
+                lastId = post.getId();
+            }
+        } while (batch.size() == REBUILD_BATCH_SIZE);
+    }
+
+    /**
+     * 게시글을 추가하거나 카테고리 등 변경 사항을 반영한다. 숨김 게시글은 제거된다.
+     */
+    public synchronized void index(Post post) {
+        removeInternal(post.getId());
+        if (!Boolean.TRUE.equals(post.getIsHidden())) {
+            put(newStats(post));
+        }
+    }
+
+    public synchronized void remove(Long postId) {
+        removeInternal(postId);
+    }
+
+    public synchronized void updateVotes(Long postId, long likeCount, long dislikeCount) {
+        Stats current = stats.get(postId);
+        if (current != null) {
+            removeInternal(postId);
+            put(new Stats(postId, current.category, likeCount, dislikeCount, current.views, current.createdSeconds));
+        }
+    }
+
+    /**
+     * DB 에 반영된 조회수 증가분(게시글 id -> 증가분)을 한 번에 더한다.
+     */
+    public synchronized void addViews(Map<Long, Long> deltas) {
+        for (Map.Entry<Long, Long> delta : deltas.entrySet()) {
+            Stats current = stats.get(delta.getKey());
+            if (current != null) {
+                removeInternal(current.postId);
+                put(new Stats(current.postId, current.category, current.likes, current.dislikes,
+                        current.views + delta.getValue(), current.createdSeconds));
+            }
+        }
+    }
+
+    /**
+     * 커서(점수, id) 다음 순위의 게시글을 최대 limit 개 반환한다. category 가 null 이면 전체.
+     */
+    public List<Entry> page(String category, double afterScore, long afterId, int limit) {
+        NavigableSet<Entry> ranking = category == null ? all : byCategory.get(category);
+        List<Entry> result = new ArrayList<>(limit);
+        if (ranking == null) {
+            return result;
+        }
+        for (Entry entry : ranking.tailSet(new Entry(afterId, afterScore), false)) {
+            if (result.size() >= limit) {
+                break;
+            }
+            result.add(entry);
+        }
+        return result;
+    }
+
+    private Stats newStats(Post post) {
+        // 아직 반영되지 않은 조회수는 ViewCountBuffer 가 반영할 때 addViews 로 더해진다
+        long views = post.getViewCount();
+        long createdSeconds = post.getCreatedDate() != null
+                ? post.getCreatedDate().toEpochSecond(ZoneOffset.UTC)
+                : LocalDateTime.now().toEpochSecond(ZoneOffset.UTC);
+        return new Stats(post.getId(), post.getCategory(), post.getLikeCount(), post.getDislikeCount(), views, createdSeconds);
+    }
+
+    private void put(Stats value) {
+        stats.put(value.postId, value);
+        all.add(value.entry);
+        if (value.category != null) {
+            byCategory.computeIfAbsent(value.category, key -> new ConcurrentSkipListSet<>(ORDER)).add(value.entry);
+        }
+    }
+
+    private void removeInternal(Long postId) {
+        Stats removed = stats.remove(postId);
+        if (removed == null) {
+            return;
+        }
+        all.remove(removed.entry);
+        if (removed.category != null) {
+            NavigableSet<Entry> ranking = byCategory.get(removed.category);
+            if (ranking != null) {
+                ranking.remove(removed.entry);
+            }
+        }
+    }
+
+    private double score(long likes, long dislikes, long views, long createdSeconds) {
+        long net = likes - dislikes;
+        double votes = Math.signum(net) * Math.log10(Math.max(Math.abs(net), 1));
+        double engagement = viewWeight * Math.log10(1 + Math.max(views, 0));
+        return votes + engagement + (double) (createdSeconds - EPOCH_SECONDS) / decaySeconds;
+    }
+
+    public static class Entry {
+
+        private final long id;
+        private final double score;
+
+        private Entry(long id, double score) {
+            this.id = id;
+            this.score = score;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public double getScore() {
+            return score;
+        }
+    }
+
+    private final class Stats {
+
+        private final Long postId;
+        private final String category;
+        private final long likes;
+        private final long dislikes;
+        private final long views;
+        private final long createdSeconds;
+        private final Entry entry;
+
+        private Stats(Long postId, String category, long likes, long dislikes, long views, long createdSeconds) {
+            this.postId = postId;
+            this.category = category;
+            this.likes = likes;
+            this.dislikes = dislikes;
+            this.views = views;
+            this.createdSeconds = createdSeconds;
+            this.entry = new Entry(postId, score(likes, dislikes, views, createdSeconds));
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.blog.demo.service;
+
+import com.blog.demo.entity.Post;
+import com.blog.demo.repository.PostRepository;
+import com.blog.demo.security.TokenRevocationRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 다른 인스턴스에서 온 무효화 묶음을 이 인스턴스의 메모리 캐시에 반영한다.
+ * 게시글은 묶음 단위로 한 번에 다시 읽어 검색 색인과 랭킹을 갱신하고, 없거나 숨겨진 게시글은 뺀다.
+ */
+@Component
+public class InvalidationApplier {
+    
+    @Autowired
+    private InvalidationBus invalidationBus;
+    
+    @Autowired
+    private PostRepository postRepository;
+    
+    @Autowired
+    private ContentVersions contentVersions;
+    
+    @Autowired
+    private PostSearchIndex postSearchIndex;
+    
+    @Autowired
+    private HotRanking hotRanking;
+    
+    @Autowired
+    private UserPrincipalCache userPrincipalCache;
+    
+    @Autowired
+    private SuspensionRegistry suspensionRegistry;
+    
+    @Autowired
+    private TokenRevocationRegistry tokenRevocationRegistry;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private Counter received;
+    
+    // 색인과 정지 목록을 모두 읽어 둔 뒤에 받기 시작한다
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        received = Counter.builder("cache.invalidation.events")
+                .description("Cache invalidation events exchanged with other instances")
+                .tag("direction", "received")
+                .register(meterRegistry);
+        invalidationBus.start(this::apply);
+    }
+    
+    public void apply(List<InvalidationEvent> events) {
+        Set<Long> postIds = new LinkedHashSet<>();
+        boolean reloadTokens = false;
+        
+        for (InvalidationEvent event : events) {
+            switch (event.getKind()) {
+                case POST:
+                    postIds.add(event.getId());
+                    break;
+                case COMMENTS:
+                    contentVersions.bumpComments(event.getId());
+                    break;
+                case AUTHOR:
+                    contentVersions.bumpAuthor(event.getId());
+                    break;
+                case USER:
+                    userPrincipalCache.evictById(event.getId());
+                    suspensionRegistry.reload(event.getId());
+                    break;
+                case TOKENS:
+                    reloadTokens = true;
+                    break;
+            }
+        }
+        
+        if (!postIds.isEmpty()) {
+            reindexPosts(postIds);
+        }
+        if (reloadTokens) {
+            tokenRevocationRegistry.load();
+        }
+        received.increment(events.size());
+    }
+    
+    private void reindexPosts(Set<Long> postIds) {
+        Set<Long> missing = new LinkedHashSet<>(postIds);
+        for (Post post : postRepository.findAllWithUserByIdIn(postIds)) {
+            // 숨겨진 게시글은 index 가 제거한다
+            postSearchIndex.index(post);
+            hotRanking.index(post);
+            missing.remove(post.getId());
+        }
+        for (Long postId : missing) {
+            postSearchIndex.remove(postId);
+            hotRanking.remove(postId);
+        }
+        // 색인을 갱신한 뒤에 ETag 를 바꿔야 새 ETag 로 이전 목록을 받는 일이 없다
+        postIds.forEach(contentVersions::bumpPost);
+    }
+}
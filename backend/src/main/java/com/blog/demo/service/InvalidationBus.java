@@ -0,0 +1,17 @@
+package com.blog.demo.service;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 인스턴스 간 캐시 무효화 전송 방식. app.invalidation.transport 로 고른다 (InvalidationBusConfig).
+ * 받은 묶음은 start 에 넘긴 receiver 로 전달하며, 자기 인스턴스가 보낸 것을 다시 전달할지는 구현마다 다르다.
+ */
+public interface InvalidationBus {
+    
+    void start(Consumer<List<InvalidationEvent>> receiver);
+    
+    void send(List<InvalidationEvent> batch);
+    
+    void stop();
+}
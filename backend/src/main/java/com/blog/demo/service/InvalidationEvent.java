@@ -0,0 +1,67 @@
+package com.blog.demo.service;
+
+import java.util.Objects;
+
+/**
+ * 다른 인스턴스의 메모리 캐시에 알릴 변경. 대상 종류와 id 만 담고, 받는 쪽이 필요한 값을 DB 에서 다시 읽는다.
+ */
+public final class InvalidationEvent {
+    
+    public enum Kind {
+        // 게시글 본문/숨김/추천/조회수 (검색 색인, 랭킹, ETag)
+        POST,
+        // 게시글의 댓글 목록
+        COMMENTS,
+        // 사용자 정지, 권한 (UserPrincipal 캐시, 정지 목록)
+        USER,
+        // 게시글/댓글 응답에 포함된 작성자 정보 (포인트 등)
+        AUTHOR,
+        // 토큰 폐기 목록
+        TOKENS
+    }
+    
+    private final Kind kind;
+    private final long id;
+    
+    public InvalidationEvent(Kind kind, long id) {
+        this.kind = kind;
+        this.id = id;
+    }
+    
+    public static InvalidationEvent parse(String line) {
+        int space = line.indexOf(' ');
+        if (space < 0) {
+            throw new IllegalArgumentException("Invalid invalidation event: " + line);
+        }
+        return new InvalidationEvent(Kind.valueOf(line.substring(0, space)), Long.parseLong(line.substring(space + 1)));
+    }
+    
+    public String format() {
+        return kind.name() + " " + id;
+    }
+    
+    public Kind getKind() {
+        return kind;
+    }
+    
+    public long getId() {
+        return id;
+    }
+    
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof InvalidationEvent)) {
+            return false;
+        }
+        InvalidationEvent event = (InvalidationEvent) other;
+        return kind == event.kind && id == event.id;
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(kind, id);
+    }
+}
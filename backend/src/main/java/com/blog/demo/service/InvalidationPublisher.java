@@ -0,0 +1,94 @@
+package com.blog.demo.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 변경을 다른 인스턴스에 알리는 쪽.
+ * 이벤트는 커밋 후에만 대기열에 넣고, app.invalidation.batchIntervalMs 마다 중복을 제거한 묶음으로 보낸다.
+ * 쓰기가 몰려도 같은 대상의 변경은 한 번만 전송된다.
+ */
+@Component
+public class InvalidationPublisher {
+    
+    @Value("${app.invalidation.maxBatchSize:500}")
+    private int maxBatchSize;
+    
+    @Autowired
+    private InvalidationBus invalidationBus;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private final Set<InvalidationEvent> pending = new LinkedHashSet<>();
+    
+    private Counter sent;
+    
+    @PostConstruct
+    public void init() {
+        sent = Counter.builder("cache.invalidation.events")
+                .description("Cache invalidation events exchanged with other instances")
+                .tag("direction", "sent")
+                .register(meterRegistry);
+        Gauge.builder("cache.invalidation.pending", this, publisher -> publisher.pendingCount())
+                .description("Cache invalidation events waiting for the next batch")
+                .register(meterRegistry);
+    }
+    
+    /**
+     * 트랜잭션 안이면 커밋 후에, 아니면 바로 대기열에 넣는다.
+     */
+    public void publish(InvalidationEvent.Kind kind, long id) {
+        InvalidationEvent event = new InvalidationEvent(kind, id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(event);
+                }
+            });
+        } else {
+            enqueue(event);
+        }
+    }
+    
+    // 이미 커밋 후 콜백 안에서 호출하는 경우 (afterCommit 중에 등록한 동기화는 실행되지 않는다)
+    synchronized void enqueue(InvalidationEvent event) {
+        pending.add(event);
+    }
+    
+    @Scheduled(fixedDelayString = "${app.invalidation.batchIntervalMs:100}")
+    public void flush() {
+        List<InvalidationEvent> events;
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            events = new ArrayList<>(pending);
+            pending.clear();
+        }
+        
+        for (int from = 0; from < events.size(); from += maxBatchSize) {
+            List<InvalidationEvent> batch = events.subList(from, Math.min(from + maxBatchSize, events.size()));
+            invalidationBus.send(batch);
+            sent.increment(batch.size());
+        }
+    }
+    
+    private synchronized int pendingCount() {
+        return pending.size();
+    }
+}
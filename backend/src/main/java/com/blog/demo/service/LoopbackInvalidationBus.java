@@ -0,0 +1,31 @@
+package com.blog.demo.service;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 보낸 묶음을 같은 프로세스의 receiver 로 바로 돌려준다. 수신 경로를 한 프로세스에서 확인하는 테스트용이며,
+ * 자기 변경을 다시 적용하느라 DB 를 또 읽으므로 운영에는 쓰지 않는다 (단일 인스턴스는 none).
+ */
+public class LoopbackInvalidationBus implements InvalidationBus {
+    
+    private volatile Consumer<List<InvalidationEvent>> receiver;
+    
+    @Override
+    public void start(Consumer<List<InvalidationEvent>> receiver) {
+        this.receiver = receiver;
+    }
+    
+    @Override
+    public void send(List<InvalidationEvent> batch) {
+        Consumer<List<InvalidationEvent>> current = receiver;
+        if (current != null) {
+            current.accept(batch);
+        }
+    }
+    
+    @Override
+    public void stop() {
+        receiver = null;
+    }
+}
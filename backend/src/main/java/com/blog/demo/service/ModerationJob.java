@@ -0,0 +1,91 @@
+package com.blog.demo.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * 일괄 관리 작업의 진행 상황. 작업 스레드가 청크마다 갱신하고 관리자 API 가 그대로 내려준다.
+ */
+public class ModerationJob {
+    
+    public enum Status {
+        PENDING, RUNNING, COMPLETED, FAILED
+    }
+    
+    private final String id;
+    private final String action;
+    private final int total;
+    private final LocalDateTime createdDate;
+    private volatile Status status = Status.PENDING;
+    private volatile int processed;
+    private volatile int affected;
+    private volatile String error;
+    private volatile LocalDateTime finishedDate;
+    
+    public ModerationJob(String id, String action, int total) {
+        this.id = id;
+        this.action = action;
+        this.total = total;
+        this.createdDate = LocalDateTime.now();
+    }
+    
+    void start() {
+        this.status = Status.RUNNING;
+    }
+    
+    // 작업 스레드 하나만 호출하므로 단순 대입으로 충분
+    void advance(int processedRows, int affectedRows) {
+        this.processed += processedRows;
+        this.affected += affectedRows;
+    }
+    
+    void complete() {
+        this.finishedDate = LocalDateTime.now();
+        this.status = Status.COMPLETED;
+    }
+    
+    void fail(String error) {
+        this.error = error;
+        this.finishedDate = LocalDateTime.now();
+        this.status = Status.FAILED;
+    }
+    
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+    
+    public String getId() {
+        return id;
+    }
+    
+    public String getAction() {
+        return action;
+    }
+    
+    public int getTotal() {
+        return total;
+    }
+    
+    public Status getStatus() {
+        return status;
+    }
+    
+    public int getProcessed() {
+        return processed;
+    }
+    
+    public int getAffected() {
+        return affected;
+    }
+    
+    public String getError() {
+        return error;
+    }
+    
+    public LocalDateTime getCreatedDate() {
+        return createdDate;
+    }
+    
+    public LocalDateTime getFinishedDate() {
+        return finishedDate;
+    }
+}
@@ -0,0 +1,150 @@
+package com.blog.demo.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.MulticastSocket;
+import java.net.NetworkInterface;
+import java.net.StandardSocketOptions;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * UDP 멀티캐스트로 무효화 묶음을 같은 네트워크의 다른 인스턴스에 보낸다.
+ * 데이터그램 하나는 "헤더(노드 id) + 한 줄에 하나씩 이벤트" 텍스트이며, 묶음이 크면 여러 데이터그램으로 나눈다.
+ * 같은 호스트의 여러 JVM 도 받을 수 있도록 멀티캐스트 루프백을 켜고, 자기 노드가 보낸 것은 버린다.
+ * UDP 이므로 유실될 수 있다. 유실된 변경은 캐시마다 다음과 같이 맞춰진다.
+ * 정지 목록과 토큰 폐기 목록은 각 레지스트리가 주기적으로 DB 에서 다시 읽고, 사용자 캐시는 TTL 이 지나면 다시 읽는다.
+ * 검색 색인과 인기 랭킹은 결과를 DB 에서 숨김 여부와 함께 다시 읽으므로 숨긴 글은 나오지 않지만,
+ * 새 글이나 바뀐 제목/본문/순위는 그 글이 다시 바뀌거나 재시작할 때까지 반영되지 않는다.
+ * ETag 도 그 대상이 다시 바뀔 때까지 이전 버전으로 304 를 줄 수 있다.
+ */
+public class MulticastInvalidationBus implements InvalidationBus {
+    
+    private static final Logger log = LoggerFactory.getLogger(MulticastInvalidationBus.class);
+    
+    private static final String HEADER = "BLOGINV1 ";
+    
+    private final InetAddress group;
+    private final int port;
+    private final String interfaceName;
+    private final int ttl;
+    private final int maxDatagramBytes;
+    private final String nodeId = UUID.randomUUID().toString();
+    
+    private MulticastSocket socket;
+    private NetworkInterface networkInterface;
+    private Thread receiverThread;
+    private volatile boolean running;
+    
+    public MulticastInvalidationBus(InetAddress group, int port, String interfaceName, int ttl, int maxDatagramBytes) {
+        this.group = group;
+        this.port = port;
+        this.interfaceName = interfaceName;
+        this.ttl = ttl;
+        this.maxDatagramBytes = maxDatagramBytes;
+    }
+    
+    @Override
+    public synchronized void start(Consumer<List<InvalidationEvent>> receiver) {
+        try {
+            socket = new MulticastSocket(port);
+            socket.setTimeToLive(ttl);
+            socket.setOption(StandardSocketOptions.IP_MULTICAST_LOOP, true);
+            if (interfaceName != null && !interfaceName.isEmpty()) {
+                networkInterface = NetworkInterface.getByName(interfaceName);
+                if (networkInterface == null) {
+                    throw new IllegalStateException("Network interface not found: " + interfaceName);
+                }
+                socket.setNetworkInterface(networkInterface);
+            }
+            socket.joinGroup(new InetSocketAddress(group, port), networkInterface);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not join invalidation group " + group.getHostAddress() + ":" + port, e);
+        }
+        
+        running = true;
+        receiverThread = new Thread(() -> receive(receiver), "invalidation-receiver");
+        receiverThread.setDaemon(true);
+        receiverThread.start();
+        log.info("Cache invalidation bus joined {}:{} as node {}", group.getHostAddress(), port, nodeId);
+    }
+    
+    @Override
+    public void send(List<InvalidationEvent> batch) {
+        // 그룹에 들어가기 전(시작 중)의 변경은 보내지 않는다. 다른 인스턴스는 이미 DB 의 최신 상태를 읽고 있다
+        if (!running) {
+            return;
+        }
+        String header = HEADER + nodeId + "\n";
+        StringBuilder datagram = new StringBuilder(header);
+        for (InvalidationEvent event : batch) {
+            String line = event.format() + "\n";
+            if (datagram.length() > header.length() && datagram.length() + line.length() > maxDatagramBytes) {
+                sendDatagram(datagram.toString());
+                datagram.setLength(0);
+                datagram.append(header);
+            }
+            datagram.append(line);
+        }
+        if (datagram.length() > header.length()) {
+            sendDatagram(datagram.toString());
+        }
+    }
+    
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (socket != null) {
+            socket.close();
+        }
+    }
+    
+    private void sendDatagram(String payload) {
+        byte[] bytes = payload.getBytes(StandardCharsets.UTF_8);
+        try {
+            socket.send(new DatagramPacket(bytes, bytes.length, group, port));
+        } catch (IOException e) {
+            // 전송 실패는 요청 처리에 영향을 주지 않는다. 다른 인스턴스는 TTL 이 지나면 맞춰진다
+            log.warn("Failed to send cache invalidation: {}", e.getMessage());
+        }
+    }
+    
+    private void receive(Consumer<List<InvalidationEvent>> receiver) {
+        byte[] buffer = new byte[65535];
+        while (running) {
+            DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+            try {
+                socket.receive(packet);
+            } catch (IOException e) {
+                if (running) {
+                    log.warn("Cache invalidation receive failed: {}", e.getMessage());
+                }
+                continue;
+            }
+            
+            String payload = new String(packet.getData(), packet.getOffset(), packet.getLength(), StandardCharsets.UTF_8);
+            String[] lines = payload.split("\n");
+            if (lines.length < 2 || !lines[0].startsWith(HEADER) || lines[0].substring(HEADER.length()).equals(nodeId)) {
+                continue;
+            }
+            
+            List<InvalidationEvent> events = new ArrayList<>(lines.length - 1);
+            try {
+                for (int i = 1; i < lines.length; i++) {
+                    events.add(InvalidationEvent.parse(lines[i]));
+                }
+                receiver.accept(events);
+            } catch (RuntimeException e) {
+                log.warn("Failed to apply cache invalidation", e);
+            }
+        }
+    }
+}
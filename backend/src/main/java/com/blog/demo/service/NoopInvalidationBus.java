@@ -0,0 +1,23 @@
+package com.blog.demo.service;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 단일 인스턴스용. 알릴 다른 인스턴스가 없으므로 보낸 묶음을 버린다.
+ * 자기 변경은 이미 각 캐시에 반영되어 있어 되돌려 받을 필요가 없다.
+ */
+public class NoopInvalidationBus implements InvalidationBus {
+    
+    @Override
+    public void start(Consumer<List<InvalidationEvent>> receiver) {
+    }
+    
+    @Override
+    public void send(List<InvalidationEvent> batch) {
+    }
+    
+    @Override
+    public void stop() {
+    }
+}
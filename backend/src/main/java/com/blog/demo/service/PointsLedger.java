@@ -0,0 +1,229 @@
+package com.blog.demo.service;
+
+import com.blog.demo.entity.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * 포인트 적립 원장.
+ * 적립은 users 행을 수정하지 않고 메모리 큐에 넣은 뒤 주기적으로 point_events 에 한 트랜잭션으로 배치 INSERT 하며,
+ * 집계기가 워터마크 이후의 적립 내역을 사용자별로 합산해 users.points 에 상대값으로 더한다.
+ * 잔액에 반영되기 전까지의 적립분은 PointsOverlay 가 응답에 더해 보여준다.
+ * 집계는 users.points_event_id 도 함께 옮기므로, 읽는 쪽은 행에 이미 반영된 적립분을 구분할 수 있다.
+ */
+@Component
+public class PointsLedger {
+    
+    private static final Logger log = LoggerFactory.getLogger(PointsLedger.class);
+    
+    public static final String LOGIN = "LOGIN";
+    
+    private static final String INSERT_SQL = "INSERT INTO point_events (user_id, amount, reason) VALUES (?, ?, ?)";
+    private static final String WATERMARK_SQL = "SELECT last_event_id FROM point_ledger_watermark WHERE id = 1";
+    // 커밋이 늦은 INSERT 를 건너뛰지 않도록 settle 시간이 지난 내역까지만 집계한다.
+    // created_date 는 DB 기본값이므로 기준 시각도 DB 시계로 잰다
+    private static final String RANGE_END_SQL = "SELECT MAX(id) FROM (SELECT id FROM point_events " +
+            "WHERE id > ? AND created_date < DATEADD(MILLISECOND, -?, LOCALTIMESTAMP) ORDER BY id LIMIT ?)";
+    // 다른 인스턴스가 먼저 집계했으면 0 행이 바뀐다
+    private static final String ADVANCE_SQL = "UPDATE point_ledger_watermark SET last_event_id = ? " +
+            "WHERE id = 1 AND last_event_id = ?";
+    private static final String SUM_SQL = "SELECT user_id, SUM(amount) FROM point_events " +
+            "WHERE id > ? AND id <= ? GROUP BY user_id";
+    private static final String APPLY_SQL = "UPDATE users SET points = points + ?, points_event_id = ? WHERE id = ?";
+    
+    @Value("${app.points.aggregateBatchSize:10000}")
+    private int aggregateBatchSize;
+    
+    @Value("${app.points.settleMs:2000}")
+    private long settleMs;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private PointsOverlay pointsOverlay;
+    
+    @Autowired
+    private ContentVersions contentVersions;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private final Queue<Event> queued = new ConcurrentLinkedQueue<>();
+    // 직전 집계의 워터마크. 메모리 미반영분은 한 주기 늦게 지워, 집계 커밋 직전에 읽은 행에도 적립분이 더해지게 한다
+    private long previousWatermark;
+    
+    private Counter dropped;
+    
+    @PostConstruct
+    public void init() {
+        Gauge.builder("points.ledger.queued", queued, Queue::size)
+                .description("Point events waiting to be inserted")
+                .register(meterRegistry);
+        Gauge.builder("points.ledger.unaggregated", pointsOverlay, PointsOverlay::unaggregatedCount)
+                .description("Inserted point events not yet applied to balances")
+                .register(meterRegistry);
+        dropped = Counter.builder("points.ledger.dropped")
+                .description("Point events discarded because they violate a constraint")
+                .register(meterRegistry);
+    }
+    
+    /**
+     * 적립을 기록한다. users 행은 수정하지 않으며, 전달된 엔티티의 미반영 포인트도 갱신한다.
+     */
+    public void award(User user, int amount, String reason) {
+        queued.add(new Event(user.getId(), amount, reason));
+        pointsOverlay.add(user.getId(), amount);
+        pointsOverlay.apply(user);
+    }
+    
+    @Scheduled(fixedDelayString = "${app.points.flushIntervalMs:1000}")
+    public synchronized void flush() {
+        List<Event> batch = new ArrayList<>();
+        for (Event event = queued.poll(); event != null; event = queued.poll()) {
+            batch.add(event);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        
+        try {
+            insert(batch);
+        } catch (DataIntegrityViolationException e) {
+            // 한 건이 제약을 어기면 배치 전체가 롤백된다. 한 건씩 다시 넣어 어긴 적립만 버린다
+            insertEach(batch);
+        } catch (RuntimeException e) {
+            // 배치는 한 트랜잭션이므로 일부만 들어간 경우는 없다. 다음 주기에 그대로 다시 시도
+            queued.addAll(batch);
+            throw e;
+        }
+    }
+    
+    private void insertEach(List<Event> batch) {
+        for (int i = 0; i < batch.size(); i++) {
+            Event event = batch.get(i);
+            try {
+                insert(List.of(event));
+            } catch (DataIntegrityViolationException e) {
+                // 삭제된 사용자 등 다시 시도해도 실패할 적립
+                log.warn("Dropping point event for user {} ({} {}): {}", event.userId, event.amount, event.reason,
+                        e.getMostSpecificCause().getMessage());
+                dropped.increment();
+                pointsOverlay.dropped(event.userId, event.amount);
+            } catch (RuntimeException e) {
+                queued.addAll(batch.subList(i, batch.size()));
+                throw e;
+            }
+        }
+    }
+    
+    // 배치 INSERT 를 한 트랜잭션으로 실행하고, 생성된 id 를 메모리 미반영분에 기록한다
+    private void insert(List<Event> batch) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Event event = batch.get(i);
+                        ps.setLong(1, event.userId);
+                        ps.setInt(2, event.amount);
+                        ps.setString(3, event.reason);
+                    }
+                    
+                    @Override
+                    public int getBatchSize() {
+                        return batch.size();
+                    }
+                }, keyHolder));
+        
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < batch.size(); i++) {
+            Event event = batch.get(i);
+            long eventId = ((Number) keys.get(i).values().iterator().next()).longValue();
+            pointsOverlay.inserted(event.userId, eventId, event.amount);
+        }
+    }
+    
+    /**
+     * 워터마크 이후의 적립 내역을 한 트랜잭션에서 잔액에 더하고 워터마크를 옮긴다.
+     * 그 뒤 잔액이 바뀐 사용자가 실린 게시글/댓글 응답의 ETag 를 바꾸고,
+     * 직전 집계의 워터마크 이하인 이 인스턴스의 적립분을 메모리 미반영분에서 지운다.
+     */
+    @Scheduled(fixedDelayString = "${app.points.aggregateIntervalMs:10000}")
+    public synchronized void aggregate() {
+        List<Long> changedUsers = new ArrayList<>();
+        Long watermark = transactionTemplate.execute(status -> {
+            long last = jdbcTemplate.queryForObject(WATERMARK_SQL, Long.class);
+            Long end = jdbcTemplate.queryForObject(RANGE_END_SQL, Long.class, last, settleMs, aggregateBatchSize);
+            if (end == null) {
+                return last;
+            }
+            if (jdbcTemplate.update(ADVANCE_SQL, end, last) == 0) {
+                // 다른 인스턴스가 같은 구간을 집계했다
+                return jdbcTemplate.queryForObject(WATERMARK_SQL, Long.class);
+            }
+            
+            List<Object[]> sums = jdbcTemplate.query(SUM_SQL,
+                    (rs, rowNum) -> new Object[]{rs.getLong(2), end, rs.getLong(1)}, last, end);
+            jdbcTemplate.batchUpdate(APPLY_SQL, sums);
+            for (Object[] sum : sums) {
+                changedUsers.add((Long) sum[2]);
+            }
+            return end;
+        });
+        
+        // 적립마다가 아니라 집계 주기마다 한 번씩만 바꾼다
+        for (Long userId : changedUsers) {
+            contentVersions.authorChanged(userId);
+        }
+        
+        pointsOverlay.prune(previousWatermark);
+        previousWatermark = watermark;
+    }
+    
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+    
+    private static class Event {
+        
+        private final Long userId;
+        private final int amount;
+        private final String reason;
+        
+        private Event(Long userId, int amount, String reason) {
+            this.userId = userId;
+            this.amount = amount;
+            this.reason = reason;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.blog.demo.service;
+
+import com.blog.demo.entity.User;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 아직 users.points 에 집계되지 않은 이 인스턴스의 사용자별 적립분.
+ * PointsOverlayListener 가 User 로드 시 미반영분을 채워 응답의 포인트가 적립 직후부터 맞게 보이게 한다.
+ * 로드한 행의 points_event_id 보다 큰 id 의 적립분만 더하므로, 집계 커밋과 로드가 겹쳐도 두 번 더해지지 않는다.
+ */
+@Component
+public class PointsOverlay {
+    
+    private final Map<Long, Pending> pending = new ConcurrentHashMap<>();
+    
+    public void apply(User user) {
+        user.setPendingPoints((int) get(user.getId(), user.getPointsEventId()));
+    }
+    
+    /**
+     * 잔액이 appliedEventId 까지의 적립을 반영한 상태일 때 더할 적립분.
+     */
+    public long get(Long userId, long appliedEventId) {
+        Pending entry = pending.get(userId);
+        return entry != null ? entry.sum(appliedEventId) : 0L;
+    }
+    
+    // 아직 INSERT 되지 않아 id 가 없는 적립
+    void add(Long userId, int amount) {
+        pending.compute(userId, (id, entry) -> {
+            Pending result = entry != null ? entry : new Pending();
+            result.queue(amount);
+            return result;
+        });
+    }
+    
+    // INSERT 되어 id 가 정해진 적립. 대기분에서 옮긴다
+    void inserted(Long userId, long eventId, int amount) {
+        pending.computeIfPresent(userId, (id, entry) -> {
+            entry.insert(eventId, amount);
+            return entry;
+        });
+    }
+    
+    // INSERT 하지 못하고 버린 적립. 대기분에서 뺀다
+    void dropped(Long userId, int amount) {
+        pending.computeIfPresent(userId, (id, entry) -> entry.drop(amount) ? null : entry);
+    }
+    
+    // 워터마크 이하로 집계된 적립분을 지운다. 빈 항목은 정리한다
+    void prune(long watermark) {
+        for (Long userId : pending.keySet()) {
+            pending.computeIfPresent(userId, (id, entry) -> entry.prune(watermark) ? null : entry);
+        }
+    }
+    
+    int unaggregatedCount() {
+        int count = 0;
+        for (Pending entry : pending.values()) {
+            count += entry.insertedCount();
+        }
+        return count;
+    }
+    
+    private static class Pending {
+        
+        private long queued;
+        // INSERT 된 적립 {id, amount} (id 순)
+        private final Deque<long[]> inserted = new ArrayDeque<>();
+        
+        private synchronized void queue(int amount) {
+            queued += amount;
+        }
+        
+        private synchronized void insert(long eventId, int amount) {
+            queued -= amount;
+            inserted.addLast(new long[]{eventId, amount});
+        }
+        
+        private synchronized long sum(long appliedEventId) {
+            long sum = queued;
+            for (long[] event : inserted) {
+                if (event[0] > appliedEventId) {
+                    sum += event[1];
+                }
+            }
+            return sum;
+        }
+        
+        // 비었으면 true
+        private synchronized boolean drop(int amount) {
+            queued -= amount;
+            return inserted.isEmpty() && queued == 0;
+        }
+        
+        // 비었으면 true
+        private synchronized boolean prune(long watermark) {
+            while (!inserted.isEmpty() && inserted.peekFirst()[0] <= watermark) {
+                inserted.pollFirst();
+            }
+            return inserted.isEmpty() && queued == 0;
+        }
+        
+        private synchronized int insertedCount() {
+            return inserted.size();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.blog.demo.service;
+
+import com.blog.demo.entity.User;
+import jakarta.persistence.PostLoad;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * User 엔티티가 로드되면 아직 잔액에 반영되지 않은 적립 포인트를 채운다.
+ */
+@Component
+public class PointsOverlayListener {
+    
+    @Autowired
+    private PointsOverlay pointsOverlay;
+    
+    @PostLoad
+    public void apply(User user) {
+        pointsOverlay.apply(user);
+    }
+}
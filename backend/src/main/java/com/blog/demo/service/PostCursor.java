@@ -0,0 +1,106 @@
+package com.blog.demo.service;
+
+import com.blog.demo.dto.PostSummary;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 피드 키셋 페이지네이션용 커서.
+ * 마지막으로 내려준 게시글의 정렬 키와 id를 불투명한 토큰으로 인코딩한다.
+ * 정렬 키가 같은 경우 id 내림차순으로 순서를 고정한다.
+ */
+public class PostCursor {
+    
+    public static final String SORT_RECENT = "recent";
+    public static final String SORT_VIEWS = "views";
+    public static final String SORT_POPULARITY = "popularity";
+    public static final String SORT_HOT = "hot";
+    
+    // 첫 페이지 조회 시 사용하는 상한값
+    private static final LocalDateTime MAX_DATE = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+    
+    private final String sortBy;
+    private final long value;
+    private final LocalDateTime dateValue;
+    private final long id;
+    
+    private PostCursor(String sortBy, long value, LocalDateTime dateValue, long id) {
+        this.sortBy = sortBy;
+        this.value = value;
+        this.dateValue = dateValue;
+        this.id = id;
+    }
+    
+    public static String normalizeSort(String sortBy) {
+        if (SORT_VIEWS.equals(sortBy) || SORT_POPULARITY.equals(sortBy) || SORT_HOT.equals(sortBy)) {
+            return sortBy;
+        }
+        return SORT_RECENT;
+    }
+    
+    public static PostCursor first(String sortBy) {
+        // hot 정렬의 키는 double 점수의 비트 표현
+        long start = SORT_HOT.equals(sortBy) ? Double.doubleToLongBits(Double.POSITIVE_INFINITY) : Long.MAX_VALUE;
+        return new PostCursor(sortBy, start, MAX_DATE, Long.MAX_VALUE);
+    }
+    
+    public static PostCursor after(HotRanking.Entry entry) {
+        return new PostCursor(SORT_HOT, Double.doubleToLongBits(entry.getScore()), null, entry.getId());
+    }
+    
+    public static PostCursor after(PostSummary post, String sortBy) {
+        switch (sortBy) {
+            case SORT_VIEWS:
+                return new PostCursor(sortBy, post.getViewCount(), null, post.getId());
+            case SORT_POPULARITY:
+                return new PostCursor(sortBy, post.getPopularityScore(), null, post.getId());
+            default:
+                return new PostCursor(sortBy, 0L, post.getCreatedDate(), post.getId());
+        }
+    }
+    
+    public static PostCursor decode(String token, String sortBy) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 3);
+            if (parts.length != 3 || !parts[0].equals(sortBy)) {
+                throw new IllegalArgumentException("Cursor does not match sort: " + sortBy);
+            }
+            long id = Long.parseLong(parts[1]);
+            if (SORT_RECENT.equals(sortBy)) {
+                return new PostCursor(sortBy, 0L, LocalDateTime.parse(parts[2]), id);
+            }
+            return new PostCursor(sortBy, Long.parseLong(parts[2]), null, id);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new RuntimeException("Invalid cursor: " + token);
+        }
+    }
+    
+    public String encode() {
+        String key = SORT_RECENT.equals(sortBy) ? dateValue.toString() : Long.toString(value);
+        String raw = sortBy + "|" + id + "|" + key;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    public String getSortBy() {
+        return sortBy;
+    }
+    
+    public long getValue() {
+        return value;
+    }
+    
+    public double getScore() {
+        return Double.longBitsToDouble(value);
+    }
+    
+    public LocalDateTime getDateValue() {
+        return dateValue;
+    }
+    
+    public long getId() {
+        return id;
+    }
+}
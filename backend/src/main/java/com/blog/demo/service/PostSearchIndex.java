@@ -0,0 +1,226 @@
+package com.blog.demo.service;
+
+import com.blog.demo.entity.Post;
+import com.blog.demo.repository.PostRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 게시글 검색용 메모리 내 바이그램 역색인.
+ * 제목, 본문, 작성자 아이디를 2글자 단위로 색인하고, 후보를 교집합으로 좁힌 뒤
+ * 실제 부분 문자열 포함 여부로 검증하므로 기존 LIKE '%keyword%' 검색과 결과가 같다.
+ * 한 글자 검색어도 문서를 훑지 않도록 글자 하나짜리(유니그램) 항목을 같은 색인에 함께 둔다.
+ * 숨김 처리된 게시글은 색인하지 않는다.
+ */
+@Component
+public class PostSearchIndex {
+    
+    private static final int GRAM_SIZE = 2;
+    private static final int REBUILD_BATCH_SIZE = 500;
+    
+    public enum Field {
+        TITLE, CONTENT, AUTHOR
+    }
+    
+    @Autowired
+    private PostRepository postRepository;
+    
+    private final Map<Field, Map<String, Set<Long>>> postings = new EnumMap<>(Field.class);
+    private final Map<Long, String[]> documents = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    public PostSearchIndex() {
+        for (Field field : Field.values()) {
+            postings.put(field, new HashMap<>());
+        }
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            documents.clear();
+            postings.values().forEach(Map::clear);
+            
+            long lastId = 0L;
+            List<Post> batch;
+            do {
+                batch = postRepository.findBatchWithUserAfter(lastId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+                for (Post post : batch) {
+                    if (!Boolean.TRUE.equals(post.getIsHidden())) {
+                        addInternal(post);
+                    }
+                    lastId = post.getId();
+                }
+            } while (batch.size() == REBUILD_BATCH_SIZE);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void index(Post post) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(post.getId());
+            if (!Boolean.TRUE.equals(post.getIsHidden())) {
+                addInternal(post);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void remove(Long postId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(postId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * 검색어를 포함하는 게시글 id 목록을 최신순(id 내림차순)으로 반환한다.
+     */
+    public List<Long> search(String keyword, String searchType) {
+        String normalized = normalize(keyword);
+        if (normalized.isEmpty()) {
+            return Collections.emptyList();
+        }
+        
+        Set<Long> result = new TreeSet<>(Comparator.reverseOrder());
+        lock.readLock().lock();
+        try {
+            switch (searchType.toLowerCase()) {
+                case "title":
+                    result.addAll(match(Field.TITLE, normalized));
+                    break;
+                case "content":
+                    result.addAll(match(Field.CONTENT, normalized));
+                    break;
+                case "author":
+                    result.addAll(match(Field.AUTHOR, normalized));
+                    break;
+                default:
+                    for (Field field : Field.values()) {
+                        result.addAll(match(field, normalized));
+                    }
+                    break;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return new ArrayList<>(result);
+    }
+    
+    private Set<Long> match(Field field, String keyword) {
+        Set<Long> matches = new HashSet<>();
+        
+        Map<String, Set<Long>> index = postings.get(field);
+        
+        // 한 글자 검색어는 유니그램 항목이 곧 결과다
+        if (keyword.length() < GRAM_SIZE) {
+            Set<Long> ids = index.get(keyword);
+            if (ids != null) {
+                matches.addAll(ids);
+            }
+            return matches;
+        }
+        
+        List<Set<Long>> lists = new ArrayList<>();
+        for (String gram : grams(keyword)) {
+            Set<Long> ids = index.get(gram);
+            if (ids == null) {
+                return matches;
+            }
+            lists.add(ids);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+        
+        Set<Long> smallest = lists.get(0);
+        for (Long id : smallest) {
+            boolean inAll = true;
+            for (int i = 1; i < lists.size() && inAll; i++) {
+                inAll = lists.get(i).contains(id);
+            }
+            // 바이그램이 모두 있어도 연속된 부분 문자열인지는 원문으로 검증
+            if (inAll && documents.get(id)[field.ordinal()].contains(keyword)) {
+                matches.add(id);
+            }
+        }
+        return matches;
+    }
+    
+    private void addInternal(Post post) {
+        String[] fields = new String[Field.values().length];
+        fields[Field.TITLE.ordinal()] = normalize(post.getTitle());
+        fields[Field.CONTENT.ordinal()] = normalize(post.getContent());
+        fields[Field.AUTHOR.ordinal()] = normalize(post.getUser() != null ? post.getUser().getUsername() : null);
+        documents.put(post.getId(), fields);
+        
+        for (Field field : Field.values()) {
+            Map<String, Set<Long>> index = postings.get(field);
+            for (String gram : terms(fields[field.ordinal()])) {
+                index.computeIfAbsent(gram, key -> new HashSet<>()).add(post.getId());
+            }
+        }
+    }
+    
+    private void removeInternal(Long postId) {
+        String[] fields = documents.remove(postId);
+        if (fields == null) {
+            return;
+        }
+        for (Field field : Field.values()) {
+            Map<String, Set<Long>> index = postings.get(field);
+            for (String gram : terms(fields[field.ordinal()])) {
+                Set<Long> ids = index.get(gram);
+                if (ids != null) {
+                    ids.remove(postId);
+                    if (ids.isEmpty()) {
+                        index.remove(gram);
+                    }
+                }
+            }
+        }
+    }
+    
+    // 색인 항목: 유니그램과 바이그램. 길이가 달라 같은 맵에 두어도 겹치지 않는다
+    private static Set<String> terms(String text) {
+        Set<String> terms = new LinkedHashSet<>();
+        for (int i = 0; i < text.length(); i++) {
+            terms.add(text.substring(i, i + 1));
+        }
+        terms.addAll(grams(text));
+        return terms;
+    }
+    
+    private static Set<String> grams(String text) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM_SIZE <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM_SIZE));
+        }
+        return grams;
+    }
+    
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,24 +1,41 @@
 package com.blog.demo.service;
 
+import com.blog.demo.dto.CursorPageResponse;
+import com.blog.demo.dto.LikeResponse;
 import com.blog.demo.dto.PostRequest;
 import com.blog.demo.dto.PostResponse;
+import com.blog.demo.dto.PostSummary;
 import com.blog.demo.entity.Post;
 import com.blog.demo.entity.PostLike;
 import com.blog.demo.entity.User;
 import com.blog.demo.repository.PostLikeRepository;
 import com.blog.demo.repository.PostRepository;
 import com.blog.demo.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(value = "blog.service", histogram = true)
 public class PostService {
     
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int LIKE_MAX_ATTEMPTS = 3;
+    
     @Autowired
     private PostRepository postRepository;
     
@@ -28,17 +45,30 @@ public class PostService {
     @Autowired
     private PostLikeRepository postLikeRepository;
     
-    public List<PostResponse> getAllPosts() {
-        return postRepository.findByIsHiddenFalseOrderByCreatedDateDesc()
-                .stream()
-                .map(PostResponse::new)
-                .collect(Collectors.toList());
+    @Autowired
+    private PostSearchIndex postSearchIndex;
+    
+    @Autowired
+    private ViewCountBuffer viewCountBuffer;
+    
+    @Autowired
+    private HotRanking hotRanking;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private ContentVersions contentVersions;
+    
+    public CursorPageResponse<PostSummary> getAllPosts(String cursor, Integer size) {
+        return getAllPostsSorted(PostCursor.SORT_RECENT, "all", cursor, size);
     }
     
     public PostResponse getPostById(Long id) {
-        Post post = postRepository.findById(id)
+        Post post = postRepository.findDetailById(id)
                 .orElseThrow(() -> new RuntimeException("Post not found with id: " + id));
-        return new PostResponse(post);
+        contentVersions.recordPostAuthor(id, post.getUser() != null ? post.getUser().getId() : null);
+        return toResponse(post);
     }
     
     public Post getPostEntityById(Long id) {
@@ -64,6 +94,9 @@ public class PostService {
         post.setUser(user);
         
         Post savedPost = postRepository.save(post);
+        postSearchIndex.index(savedPost);
+        hotRanking.index(savedPost);
+        contentVersions.postChanged(savedPost.getId());
         return new PostResponse(savedPost);
     }
     
@@ -87,7 +120,10 @@ public class PostService {
         post.setCategory(request.getCategory());
         
         Post updatedPost = postRepository.save(post);
-        return new PostResponse(updatedPost);
+        postSearchIndex.index(updatedPost);
+        hotRanking.index(updatedPost);
+        contentVersions.postChanged(id);
+        return toResponse(updatedPost);
     }
     
     public void deletePost(Long id) {
@@ -106,28 +142,28 @@ public class PostService {
         }
         
         postRepository.deleteById(id);
+        postSearchIndex.remove(id);
+        hotRanking.remove(id);
+        viewCountBuffer.discard(id);
+        contentVersions.postChanged(id);
+        contentVersions.commentsChanged(id);
     }
     
-    public List<PostResponse> searchPosts(String keyword, String searchType) {
-        List<Post> posts;
-        
-        switch (searchType.toLowerCase()) {
-            case "title":
-                posts = postRepository.findByTitleContainingIgnoreCaseOrderByCreatedDateDesc(keyword);
-                break;
-            case "content":
-                posts = postRepository.findByContentContainingIgnoreCaseOrderByCreatedDateDesc(keyword);
-                break;
-            case "author":
-                posts = postRepository.findByUserUsernameContainingIgnoreCaseOrderByCreatedDateDesc(keyword);
-                break;
-            default:
-                posts = postRepository.findByTitleContainingIgnoreCaseOrContentContainingIgnoreCaseOrUserUsernameContainingIgnoreCaseOrderByCreatedDateDesc(keyword, keyword, keyword);
-                break;
+    public List<PostSummary> searchPosts(String keyword, String searchType) {
+        List<Long> ids = postSearchIndex.search(keyword, searchType);
+        if (ids.isEmpty()) {
+            return List.of();
         }
         
-        return posts.stream()
-                .map(PostResponse::new)
+        Map<Long, PostSummary> postsById = postRepository.findVisibleSummariesByIdIn(ids)
+                .stream()
+                .collect(Collectors.toMap(PostSummary::getId, Function.identity()));
+        
+        // 색인이 반환한 최신순을 유지
+        return ids.stream()
+                .map(postsById::get)
+                .filter(Objects::nonNull)
+                .map(this::withPendingViews)
                 .collect(Collectors.toList());
     }
     
@@ -135,25 +171,22 @@ public class PostService {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String username = authentication.getName();
         
-        Post post = postRepository.findById(postId)
+        // 게시글 전체를 읽지 않고 작성자 아이디만 조회
+        String authorUsername = postRepository.findAuthorUsernameById(postId)
                 .orElseThrow(() -> new RuntimeException("Post not found with id: " + postId));
         
         // 작성자 본인이 아닌 경우에만 조회수 증가
-        if (username == null || "anonymousUser".equals(username) || 
-            post.getUser() == null || !post.getUser().getUsername().equals(username)) {
-            post.incrementViewCount();
-            postRepository.save(post);
+        if (username == null || "anonymousUser".equals(username) || !authorUsername.equals(username)) {
+            viewCountBuffer.increment(postId);
+            // 조회수는 ETag 에 포함하지 않는다 (ContentVersions). hot 랭킹에는 버퍼가 DB 에 반영할 때 더해진다
         }
     }
     
-    public List<PostResponse> getPostsByCategory(String category) {
-        return postRepository.findByCategoryAndIsHiddenFalseOrderByCreatedDateDesc(category)
-                .stream()
-                .map(PostResponse::new)
-                .collect(Collectors.toList());
+    public CursorPageResponse<PostSummary> getPostsByCategory(String category, String cursor, Integer size) {
+        return getAllPostsSorted(PostCursor.SORT_RECENT, category, cursor, size);
     }
     
-    public void toggleLike(Long postId, String likeType) {
+    public LikeResponse toggleLike(Long postId, String likeType) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String username = authentication.getName();
         
@@ -161,89 +194,175 @@ public class PostService {
             throw new RuntimeException("User must be authenticated to like/dislike posts");
         }
         
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found: " + username));
+        Long userId = resolveUserId(authentication, username);
         
-        Post post = postRepository.findById(postId)
-                .orElseThrow(() -> new RuntimeException("Post not found with id: " + postId));
+        if (!postRepository.existsById(postId)) {
+            throw new RuntimeException("Post not found with id: " + postId);
+        }
         
         PostLike.LikeType newLikeType = "like".equalsIgnoreCase(likeType) ? 
                 PostLike.LikeType.LIKE : PostLike.LikeType.DISLIKE;
         
-        Optional<PostLike> existingLike = postLikeRepository.findByUserIdAndPostId(user.getId(), postId);
+        // 동시 요청과 충돌하면 새 트랜잭션에서 다시 시도
+        for (int attempt = 1; ; attempt++) {
+            try {
+                LikeResponse response = transactionTemplate.execute(status -> applyLike(userId, postId, newLikeType));
+                hotRanking.updateVotes(postId, response.getLikeCount(), response.getDislikeCount());
+                contentVersions.postChanged(postId);
+                return response;
+            } catch (DataIntegrityViolationException | ConcurrencyFailureException e) {
+                if (attempt >= LIKE_MAX_ATTEMPTS) {
+                    throw new RuntimeException("Could not update like for post: " + postId, e);
+                }
+            }
+        }
+    }
+    
+    private LikeResponse applyLike(Long userId, Long postId, PostLike.LikeType newLikeType) {
+        Optional<PostLike> existingLike = postLikeRepository.findByUserIdAndPostId(userId, postId);
+        PostLike.LikeType resultType;
+        long likeDelta = 0;
+        long dislikeDelta = 0;
         
         if (existingLike.isPresent()) {
             PostLike like = existingLike.get();
             
             if (like.getLikeType() == newLikeType) {
                 // 같은 버튼을 다시 누르면 취소
-                if (newLikeType == PostLike.LikeType.LIKE) {
-                    post.decrementLikeCount();
-                } else {
-                    post.decrementDislikeCount();
+                if (postLikeRepository.deleteByIdAndLikeType(like.getId(), newLikeType) == 0) {
+                    throw new ConcurrencyFailureException("Like was changed concurrently");
                 }
-                postLikeRepository.delete(like);
+                resultType = null;
             } else {
                 // 다른 버튼을 누르면 변경
-                if (like.getLikeType() == PostLike.LikeType.LIKE) {
-                    post.decrementLikeCount();
-                    post.incrementDislikeCount();
-                } else {
-                    post.decrementDislikeCount();
-                    post.incrementLikeCount();
+                if (postLikeRepository.updateLikeType(like.getId(), like.getLikeType(), newLikeType) == 0) {
+                    throw new ConcurrencyFailureException("Like was changed concurrently");
                 }
-                like.setLikeType(newLikeType);
-                postLikeRepository.save(like);
+                resultType = newLikeType;
             }
-        } else {
-            // 새로운 좋아요/싫어요
-            PostLike newLike = new PostLike();
-            newLike.setUser(user);
-            newLike.setPost(post);
-            newLike.setLikeType(newLikeType);
-            postLikeRepository.save(newLike);
             
-            if (newLikeType == PostLike.LikeType.LIKE) {
-                post.incrementLikeCount();
+            if (like.getLikeType() == PostLike.LikeType.LIKE) {
+                likeDelta--;
             } else {
-                post.incrementDislikeCount();
+                dislikeDelta--;
             }
+        } else {
+            // 새로운 좋아요/싫어요 (동시 삽입은 유니크 제약 위반으로 감지)
+            PostLike newLike = new PostLike();
+            newLike.setUser(userRepository.getReferenceById(userId));
+            newLike.setPost(postRepository.getReferenceById(postId));
+            newLike.setLikeType(newLikeType);
+            postLikeRepository.saveAndFlush(newLike);
+            resultType = newLikeType;
         }
         
-        postRepository.save(post);
+        if (resultType == PostLike.LikeType.LIKE) {
+            likeDelta++;
+        } else if (resultType == PostLike.LikeType.DISLIKE) {
+            dislikeDelta++;
+        }
+        
+        postRepository.addLikeCounts(postId, likeDelta, dislikeDelta);
+        PostRepository.LikeCounts counts = postRepository.findLikeCountsById(postId)
+                .orElseThrow(() -> new RuntimeException("Post not found with id: " + postId));
+        
+        String likeStatus = resultType != null ? resultType.name().toLowerCase() : null;
+        return new LikeResponse(postId, counts.getLikeCount(), counts.getDislikeCount(), likeStatus);
+    }
+    
+    private Long resolveUserId(Authentication authentication, String username) {
+        if (authentication.getPrincipal() instanceof UserPrincipal) {
+            return ((UserPrincipal) authentication.getPrincipal()).getId();
+        }
+        return userRepository.findByUsername(username)
+                .map(User::getId)
+                .orElseThrow(() -> new RuntimeException("User not found: " + username));
     }
     
-    public List<PostResponse> getAllPostsSorted(String sortBy, String category) {
-        List<Post> posts;
+    public CursorPageResponse<PostSummary> getAllPostsSorted(String sortBy, String category, String cursor, Integer size) {
+        String sort = PostCursor.normalizeSort(sortBy);
+        PostCursor after = (cursor == null || cursor.isEmpty()) ? PostCursor.first(sort) : PostCursor.decode(cursor, sort);
+        int pageSize = resolvePageSize(size);
+        boolean allCategories = category == null || "all".equals(category);
         
-        if ("all".equals(category)) {
-            switch (sortBy) {
-                case "views":
-                    posts = postRepository.findByIsHiddenFalseOrderByViewCountDesc();
-                    break;
-                case "popularity":
-                    posts = postRepository.findByIsHiddenFalseOrderByPopularityDesc();
-                    break;
-                default:
-                    posts = postRepository.findByIsHiddenFalseOrderByCreatedDateDesc();
-                    break;
-            }
-        } else {
-            switch (sortBy) {
-                case "views":
-                    posts = postRepository.findByCategoryAndIsHiddenFalseOrderByViewCountDesc(category);
-                    break;
-                case "popularity":
-                    posts = postRepository.findByCategoryAndIsHiddenFalseOrderByPopularityDesc(category);
-                    break;
-                default:
-                    posts = postRepository.findByCategoryAndIsHiddenFalseOrderByCreatedDateDesc(category);
-                    break;
-            }
+        if (PostCursor.SORT_HOT.equals(sort)) {
+            return getHotPosts(allCategories ? null : category, after, pageSize);
+        }
+        
+        // 다음 페이지 존재 여부 확인을 위해 한 건 더 조회
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<PostSummary> posts;
+        
+        switch (sort) {
+            case PostCursor.SORT_VIEWS:
+                posts = allCategories
+                        ? postRepository.findVisibleByViewsAfter(after.getValue(), after.getId(), limit)
+                        : postRepository.findVisibleByCategoryAndViewsAfter(category, after.getValue(), after.getId(), limit);
+                break;
+            case PostCursor.SORT_POPULARITY:
+                posts = allCategories
+                        ? postRepository.findVisibleByPopularityAfter(after.getValue(), after.getId(), limit)
+                        : postRepository.findVisibleByCategoryAndPopularityAfter(category, after.getValue(), after.getId(), limit);
+                break;
+            default:
+                posts = allCategories
+                        ? postRepository.findVisibleRecentAfter(after.getDateValue(), after.getId(), limit)
+                        : postRepository.findVisibleRecentByCategoryAfter(category, after.getDateValue(), after.getId(), limit);
+                break;
+        }
+        
+        return toPage(posts, pageSize, sort);
+    }
+    
+    // 순위는 메모리 랭킹에서 정하고, 해당 페이지의 게시글만 기본키로 조회
+    private CursorPageResponse<PostSummary> getHotPosts(String category, PostCursor after, int pageSize) {
+        List<HotRanking.Entry> ranked = hotRanking.page(category, after.getScore(), after.getId(), pageSize + 1);
+        boolean hasNext = ranked.size() > pageSize;
+        List<HotRanking.Entry> page = hasNext ? ranked.subList(0, pageSize) : ranked;
+        if (page.isEmpty()) {
+            return new CursorPageResponse<>(List.of(), pageSize, null);
+        }
+        
+        List<Long> ids = page.stream().map(HotRanking.Entry::getId).collect(Collectors.toList());
+        Map<Long, PostSummary> byId = postRepository.findVisibleSummariesByIdIn(ids).stream()
+                .collect(Collectors.toMap(PostSummary::getId, Function.identity()));
+        
+        List<PostSummary> content = ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .map(this::withPendingViews)
+                .collect(Collectors.toList());
+        String nextCursor = hasNext ? PostCursor.after(page.get(page.size() - 1)).encode() : null;
+        return new CursorPageResponse<>(content, pageSize, nextCursor);
+    }
+    
+    private int resolvePageSize(Integer size) {
+        if (size == null || size <= 0) {
+            return DEFAULT_PAGE_SIZE;
         }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+    
+    private CursorPageResponse<PostSummary> toPage(List<PostSummary> posts, int pageSize, String sort) {
+        boolean hasNext = posts.size() > pageSize;
+        List<PostSummary> page = hasNext ? posts.subList(0, pageSize) : posts;
+        String nextCursor = hasNext ? PostCursor.after(page.get(page.size() - 1), sort).encode() : null;
         
-        return posts.stream()
-                .map(PostResponse::new)
+        List<PostSummary> content = page.stream()
+                .map(this::withPendingViews)
                 .collect(Collectors.toList());
+        return new CursorPageResponse<>(content, pageSize, nextCursor);
+    }
+    
+    private PostSummary withPendingViews(PostSummary summary) {
+        summary.setViewCount(summary.getViewCount() + viewCountBuffer.getPending(summary.getId()));
+        return summary;
+    }
+    
+    private PostResponse toResponse(Post post) {
+        PostResponse response = new PostResponse(post);
+        // 아직 DB 에 반영되지 않은 조회수를 합산
+        response.setViewCount(post.getViewCount() + viewCountBuffer.getPending(post.getId()));
+        return response;
     }
 }
\ No newline at end of file
@@ -0,0 +1,110 @@
+package com.blog.demo.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * 요청마다 읽히는 캐시용 구역 분할 LRU.
+ * 키 해시로 나눈 구역마다 접근 순서 LinkedHashMap 과 락을 따로 두어 모든 요청이 락 하나에 줄 서지 않게 한다.
+ * 가장 오래 쓰이지 않은 항목은 구역 안에서 밀려나며, 구역마다 maxSize / 구역 수 만큼 보관한다.
+ */
+public class StripedLruCache<K, V> {
+
+    private static final int STRIPES = 16;
+
+    private final Segment<K, V>[] segments;
+
+    private final int mask;
+
+    public StripedLruCache(int maxSize) {
+        this(maxSize, null);
+    }
+
+    /**
+     * @param onEvict 용량 초과로 밀려난 항목을 받는다. 구역 락 안에서 호출되므로 짧게 끝나야 한다.
+     */
+    @SuppressWarnings("unchecked")
+    public StripedLruCache(int maxSize, BiConsumer<K, V> onEvict) {
+        int segmentSize = Math.max(1, (maxSize + STRIPES - 1) / STRIPES);
+        segments = new Segment[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            segments[i] = new Segment<>(segmentSize, onEvict);
+        }
+        mask = STRIPES - 1;
+    }
+
+    public V get(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.get(key);
+        }
+    }
+
+    public void put(K key, V value) {
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            segment.put(key, value);
+        }
+    }
+
+    public V remove(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.remove(key);
+        }
+    }
+
+    // 다른 스레드가 그사이 새 값으로 바꿨으면 지우지 않는다
+    public boolean remove(K key, V value) {
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.remove(key, value);
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    public void clear() {
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    private Segment<K, V> segmentFor(K key) {
+        int hash = key.hashCode();
+        return segments[(hash ^ (hash >>> 16)) & mask];
+    }
+
+    private static class Segment<K, V> extends LinkedHashMap<K, V> {
+        private final int maxSize;
+        private final BiConsumer<K, V> onEvict;
+
+        private Segment(int maxSize, BiConsumer<K, V> onEvict) {
+            super(16, 0.75f, true);
+            this.maxSize = maxSize;
+            this.onEvict = onEvict;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+            if (size() <= maxSize) {
+                return false;
+            }
+            if (onEvict != null) {
+                onEvict.accept(eldest.getKey(), eldest.getValue());
+            }
+            return true;
+        }
+    }
+}
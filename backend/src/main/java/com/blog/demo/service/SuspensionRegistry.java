@@ -0,0 +1,136 @@
+package com.blog.demo.service;
+
+import com.blog.demo.entity.UserSuspension;
+import com.blog.demo.repository.UserSuspensionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 활성 계정 정지 목록의 메모리 사본.
+ * 시작 시 DB 에서 읽고 AdminService 의 정지/해제 시 갱신되며, JWT 필터는 요청마다 O(1) 로 조회한다.
+ * 다른 인스턴스의 정지/해제는 무효화 버스와 상관없이 app.suspension.refreshIntervalMs 마다 DB 에서 다시 읽어 맞춘다.
+ * 기간 정지는 종료 시각 순 우선순위 큐로 관리하여 주기적으로 만료된 것들의 is_active 를 한 번에 해제한다.
+ */
+@Component
+public class SuspensionRegistry {
+
+    private static final int DEACTIVATE_BATCH_SIZE = 500;
+
+    @Autowired
+    private UserSuspensionRepository userSuspensionRepository;
+
+    // 다시 읽을 때는 새로 만든 뒤 통째로 바꾸므로, 읽는 동안 조회가 빈 목록을 보지 않는다
+    private volatile Map<Long, Entry> suspensions = new ConcurrentHashMap<>();
+    private PriorityQueue<Entry> expiries = newExpiries();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        refresh();
+    }
+
+    // AdminService 는 커밋한 뒤 suspend/lift 를 부르므로, 같은 락 안에서 읽고 바꾸면 이 인스턴스의 변경을 되돌리지 않는다
+    @Scheduled(fixedDelayString = "${app.suspension.refreshIntervalMs:10000}", initialDelayString = "${app.suspension.refreshIntervalMs:10000}")
+    public synchronized void refresh() {
+        Map<Long, Entry> loaded = new ConcurrentHashMap<>();
+        PriorityQueue<Entry> loadedExpiries = newExpiries();
+        for (UserSuspension suspension : userSuspensionRepository.findAllActive()) {
+            Entry current = loaded.get(suspension.getUser().getId());
+            // 활성 정지가 여러 건이면 가장 최근 것을 사용
+            if (current == null || current.suspensionId < suspension.getId()) {
+                putInternal(loaded, loadedExpiries, suspension.getUser().getId(), suspension);
+            }
+        }
+        suspensions = loaded;
+        expiries = loadedExpiries;
+    }
+
+    public boolean isSuspended(Long userId) {
+        Entry entry = suspensions.get(userId);
+        return entry != null && entry.isInEffect(LocalDateTime.now());
+    }
+
+    public synchronized void suspend(Long userId, UserSuspension suspension) {
+        putInternal(suspensions, expiries, userId, suspension);
+    }
+
+    /**
+     * 다른 인스턴스에서 정지/해제된 사용자의 현재 상태를 DB 에서 다시 읽는다.
+     */
+    public void reload(Long userId) {
+        Optional<UserSuspension> suspension = userSuspensionRepository.findActiveSuspensionByUserId(userId, LocalDateTime.now());
+        if (suspension.isPresent()) {
+            suspend(userId, suspension.get());
+        } else {
+            lift(userId);
+        }
+    }
+    
+    public synchronized void lift(Long userId) {
+        // 큐에 남은 항목은 만료 처리 시 현재 항목과 다르므로 무시된다
+        suspensions.remove(userId);
+    }
+
+    @Scheduled(fixedDelayString = "${app.suspension.expiryIntervalMs:60000}")
+    public void expire() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> expiredIds = new ArrayList<>();
+
+        synchronized (this) {
+            while (!expiries.isEmpty() && !expiries.peek().endDate.isAfter(now)) {
+                Entry entry = expiries.poll();
+                if (suspensions.remove(entry.userId, entry)) {
+                    expiredIds.add(entry.suspensionId);
+                }
+            }
+        }
+
+        for (int from = 0; from < expiredIds.size(); from += DEACTIVATE_BATCH_SIZE) {
+            List<Long> batch = expiredIds.subList(from, Math.min(from + DEACTIVATE_BATCH_SIZE, expiredIds.size()));
+            userSuspensionRepository.deactivateByIdIn(batch);
+        }
+    }
+
+    private static void putInternal(Map<Long, Entry> suspensions, PriorityQueue<Entry> expiries,
+                                    Long userId, UserSuspension suspension) {
+        Entry entry = new Entry(userId, suspension.getId(), suspension.getStartDate(), suspension.getEndDate());
+        suspensions.put(userId, entry);
+        if (entry.endDate != null) {
+            expiries.add(entry);
+        }
+    }
+
+    private static PriorityQueue<Entry> newExpiries() {
+        return new PriorityQueue<>(Comparator.comparing(entry -> entry.endDate));
+    }
+
+    private static class Entry {
+
+        private final Long userId;
+        private final Long suspensionId;
+        private final LocalDateTime startDate;
+        private final LocalDateTime endDate; // null이면 영구정지
+
+        private Entry(Long userId, Long suspensionId, LocalDateTime startDate, LocalDateTime endDate) {
+            this.userId = userId;
+            this.suspensionId = suspensionId;
+            this.startDate = startDate;
+            this.endDate = endDate;
+        }
+
+        private boolean isInEffect(LocalDateTime now) {
+            return !startDate.isAfter(now) && (endDate == null || endDate.isAfter(now));
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.blog.demo.service;
+
+import com.blog.demo.entity.User;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 관리자 사용자 목록 키셋 페이지네이션용 커서.
+ * recent 는 id 내림차순, username 은 아이디 오름차순(유일), points 는 포인트 내림차순 후 id 내림차순이다.
+ */
+public class UserDirectoryCursor {
+    
+    public static final String SORT_RECENT = "recent";
+    public static final String SORT_USERNAME = "username";
+    public static final String SORT_POINTS = "points";
+    
+    private final String sortBy;
+    private final long id;
+    private final String username;
+    private final int points;
+    
+    private UserDirectoryCursor(String sortBy, long id, String username, int points) {
+        this.sortBy = sortBy;
+        this.id = id;
+        this.username = username;
+        this.points = points;
+    }
+    
+    public static String normalizeSort(String sortBy) {
+        if (SORT_USERNAME.equals(sortBy) || SORT_POINTS.equals(sortBy)) {
+            return sortBy;
+        }
+        return SORT_RECENT;
+    }
+    
+    public static UserDirectoryCursor first(String sortBy) {
+        return new UserDirectoryCursor(sortBy, Long.MAX_VALUE, "", Integer.MAX_VALUE);
+    }
+    
+    public static UserDirectoryCursor after(User user, String sortBy) {
+        return new UserDirectoryCursor(sortBy, user.getId(), user.getUsername(), user.getPoints());
+    }
+    
+    public static UserDirectoryCursor decode(String token, String sortBy) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 3);
+            if (parts.length != 3 || !parts[0].equals(sortBy)) {
+                throw new IllegalArgumentException("Cursor does not match sort: " + sortBy);
+            }
+            long id = Long.parseLong(parts[1]);
+            if (SORT_USERNAME.equals(sortBy)) {
+                return new UserDirectoryCursor(sortBy, id, parts[2], 0);
+            }
+            return new UserDirectoryCursor(sortBy, id, "", SORT_POINTS.equals(sortBy) ? Integer.parseInt(parts[2]) : 0);
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid cursor: " + token);
+        }
+    }
+    
+    public String encode() {
+        String key = SORT_USERNAME.equals(sortBy) ? username : Integer.toString(points);
+        String raw = sortBy + "|" + id + "|" + key;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    public String getSortBy() {
+        return sortBy;
+    }
+    
+    public long getId() {
+        return id;
+    }
+    
+    public String getUsername() {
+        return username;
+    }
+    
+    public int getPoints() {
+        return points;
+    }
+}
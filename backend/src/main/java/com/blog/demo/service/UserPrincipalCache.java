@@ -0,0 +1,86 @@
+package com.blog.demo.service;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * JWT 인증 시 사용하는 UserPrincipal 캐시.
+ * 권한 변경, 정지, 삭제 시 무효화되며 app.principalCacheTtlMs 가 지나면 다시 DB 에서 읽는다.
+ * 모든 인증 요청이 읽으므로 구역별 락을 쓰는 LRU(StripedLruCache)에 두며, 가득 차면 구역 안에서 가장 오래 쓰이지 않은 사용자부터 밀려난다.
+ * id 로 무효화할 수 있도록 id -> 아이디 색인을 함께 둔다.
+ */
+@Component
+public class UserPrincipalCache {
+    
+    @Value("${app.principalCacheTtlMs:60000}")
+    private long ttlMs;
+    
+    @Value("${app.principalCacheMaxSize:10000}")
+    private int maxSize;
+    
+    private final Map<Long, String> usernamesById = new ConcurrentHashMap<>();
+    
+    private StripedLruCache<String, CachedPrincipal> principals;
+    
+    @PostConstruct
+    public void init() {
+        principals = new StripedLruCache<>(maxSize,
+                (username, evicted) -> usernamesById.remove(evicted.principal.getId(), username));
+    }
+    
+    public UserPrincipal get(String username) {
+        CachedPrincipal cached = principals.get(username);
+        if (cached == null) {
+            return null;
+        }
+        if (cached.expiresAt <= System.currentTimeMillis()) {
+            if (principals.remove(username, cached)) {
+                usernamesById.remove(cached.principal.getId(), username);
+            }
+            return null;
+        }
+        return cached.principal;
+    }
+    
+    public void put(UserPrincipal principal) {
+        // 아이디가 바뀐 경우 이전 아이디의 항목을 지운다
+        String previous = usernamesById.put(principal.getId(), principal.getUsername());
+        if (previous != null && !previous.equals(principal.getUsername())) {
+            principals.remove(previous);
+        }
+        principals.put(principal.getUsername(), new CachedPrincipal(principal, System.currentTimeMillis() + ttlMs));
+    }
+    
+    public void evict(String username) {
+        CachedPrincipal removed = principals.remove(username);
+        if (removed != null) {
+            usernamesById.remove(removed.principal.getId(), username);
+        }
+    }
+    
+    public void evictById(Long userId) {
+        String username = usernamesById.remove(userId);
+        if (username != null) {
+            principals.remove(username);
+        }
+    }
+    
+    public void clear() {
+        principals.clear();
+        usernamesById.clear();
+    }
+    
+    private static class CachedPrincipal {
+        private final UserPrincipal principal;
+        private final long expiresAt;
+        
+        private CachedPrincipal(UserPrincipal principal, long expiresAt) {
+            this.principal = principal;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.blog.demo.service;
+
+import com.blog.demo.entity.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * User 엔티티가 수정(권한 변경 등)되거나 삭제되면 캐시된 UserPrincipal 을 무효화한다.
+ * 두 콜백은 커밋 전 flush 시점에 불리므로, 그 사이 다른 요청이 커밋 전 값을 다시 캐시하지 않도록 커밋 후에 지운다.
+ */
+@Component
+public class UserPrincipalCacheListener {
+    
+    @Autowired
+    private UserPrincipalCache userPrincipalCache;
+    
+    @PostUpdate
+    @PostRemove
+    public void evict(User user) {
+        String username = user.getUsername();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    userPrincipalCache.evict(username);
+                }
+            });
+        } else {
+            userPrincipalCache.evict(username);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.blog.demo.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 조회수 쓰기 지연 버퍼.
+ * 조회 요청은 게시글별 LongAdder(스트라이프 카운터)에만 누적하고,
+ * 주기적으로 한 번의 배치 UPDATE 로 DB 에 상대값을 더한다.
+ * 반영 중인 증가분은 커밋될 때까지 inFlight 에 남겨 두어, 읽는 쪽에서 조회수가 줄어 보이는 구간이 없게 한다.
+ * 커밋된 증가분은 HotRanking 에도 묶음으로 한 번에 더한다.
+ * 게시글별 카운터는 한 번 만들면 게시글이 삭제될 때까지 재사용한다.
+ */
+@Component
+public class ViewCountBuffer {
+    
+    private static final String FLUSH_SQL = "UPDATE posts SET view_count = view_count + ? WHERE id = ?";
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private HotRanking hotRanking;
+    
+    private final Map<Long, LongAdder> pending = new ConcurrentHashMap<>();
+    // 배치 UPDATE 가 커밋되기 전까지의 증가분
+    private final Map<Long, Long> inFlight = new ConcurrentHashMap<>();
+    
+    public void increment(Long postId) {
+        pending.computeIfAbsent(postId, id -> new LongAdder()).increment();
+    }
+    
+    /**
+     * 아직 DB 에 반영되지 않은 조회수. 읽기 시 DB 값에 더해 조회수가 줄어 보이지 않게 한다.
+     */
+    public long getPending(Long postId) {
+        LongAdder adder = pending.get(postId);
+        return (adder != null ? adder.sum() : 0L) + inFlight.getOrDefault(postId, 0L);
+    }
+    
+    // 카운터는 게시글이 삭제될 때만 지운다
+    public void discard(Long postId) {
+        pending.remove(postId);
+        inFlight.remove(postId);
+    }
+    
+    @Scheduled(fixedDelayString = "${app.viewCount.flushIntervalMs:5000}")
+    public synchronized void flush() {
+        List<Object[]> batch = new ArrayList<>();
+        
+        for (Map.Entry<Long, LongAdder> entry : pending.entrySet()) {
+            LongAdder adder = entry.getValue();
+            long delta = adder.sum();
+            if (delta > 0) {
+                // inFlight 에 먼저 옮기고 카운터에서 뺀다. 그 사이 읽기는 잠깐 많게 보일 수는 있어도 적게 보이지는 않는다
+                inFlight.put(entry.getKey(), delta);
+                adder.add(-delta);
+                batch.add(new Object[]{delta, entry.getKey()});
+            }
+            // 0 이 된 카운터도 지우지 않는다. 지우면 그 카운터를 막 받아 간 increment 의 조회가 사라진다
+        }
+        
+        if (batch.isEmpty()) {
+            return;
+        }
+        
+        try {
+            // 한 트랜잭션으로 실행하므로 실패하면 어느 행에도 반영되지 않는다
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(FLUSH_SQL, batch));
+        } catch (RuntimeException e) {
+            // 반영에 실패한 증가분은 카운터로 되돌려 다음 주기에 다시 시도
+            for (Object[] row : batch) {
+                Long postId = (Long) row[1];
+                pending.computeIfAbsent(postId, id -> new LongAdder()).add((Long) row[0]);
+                inFlight.remove(postId);
+            }
+            throw e;
+        }
+        Map<Long, Long> applied = new HashMap<>();
+        for (Object[] row : batch) {
+            inFlight.remove((Long) row[1]);
+            applied.put((Long) row[1], (Long) row[0]);
+        }
+        hotRanking.addViews(applied);
+    }
+    
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
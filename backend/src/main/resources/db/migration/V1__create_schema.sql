@@ -0,0 +1,87 @@
+-- 기존 Hibernate ddl-auto 가 생성하던 스키마
+CREATE TABLE users (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    username VARCHAR(50) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    email VARCHAR(100) NOT NULL,
+    display_name VARCHAR(100),
+    points INT DEFAULT 0 NOT NULL,
+    role VARCHAR(20) DEFAULT 'USER' NOT NULL,
+    created_date TIMESTAMP(6),
+    CONSTRAINT pk_users PRIMARY KEY (id),
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email),
+    CONSTRAINT ck_users_role CHECK (role IN ('USER', 'ADMIN'))
+);
+
+CREATE TABLE posts (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    title VARCHAR(200) NOT NULL,
+    content TEXT NOT NULL,
+    category VARCHAR(50) NOT NULL,
+    user_id BIGINT,
+    view_count BIGINT DEFAULT 0 NOT NULL,
+    like_count BIGINT DEFAULT 0 NOT NULL,
+    dislike_count BIGINT DEFAULT 0 NOT NULL,
+    is_hidden BOOLEAN DEFAULT FALSE NOT NULL,
+    hidden_reason VARCHAR(500),
+    hidden_by VARCHAR(255),
+    hidden_date TIMESTAMP(6),
+    created_date TIMESTAMP(6),
+    modified_date TIMESTAMP(6),
+    CONSTRAINT pk_posts PRIMARY KEY (id),
+    CONSTRAINT fk_posts_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE comments (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    content TEXT NOT NULL,
+    author VARCHAR(255) NOT NULL,
+    post_id BIGINT,
+    user_id BIGINT,
+    created_date TIMESTAMP(6),
+    modified_date TIMESTAMP(6),
+    CONSTRAINT pk_comments PRIMARY KEY (id),
+    CONSTRAINT fk_comments_post FOREIGN KEY (post_id) REFERENCES posts (id),
+    CONSTRAINT fk_comments_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE post_likes (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    user_id BIGINT NOT NULL,
+    post_id BIGINT NOT NULL,
+    like_type VARCHAR(255) NOT NULL,
+    created_date TIMESTAMP(6),
+    modified_date TIMESTAMP(6),
+    CONSTRAINT pk_post_likes PRIMARY KEY (id),
+    CONSTRAINT uk_post_likes_user_post UNIQUE (user_id, post_id),
+    CONSTRAINT ck_post_likes_type CHECK (like_type IN ('LIKE', 'DISLIKE')),
+    CONSTRAINT fk_post_likes_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_post_likes_post FOREIGN KEY (post_id) REFERENCES posts (id)
+);
+
+CREATE TABLE file_attachments (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    original_file_name VARCHAR(255) NOT NULL,
+    s3key VARCHAR(255) NOT NULL,
+    s3url VARCHAR(255) NOT NULL,
+    content_type VARCHAR(255) NOT NULL,
+    file_size BIGINT NOT NULL,
+    post_id BIGINT,
+    created_date TIMESTAMP(6),
+    CONSTRAINT pk_file_attachments PRIMARY KEY (id),
+    CONSTRAINT fk_file_attachments_post FOREIGN KEY (post_id) REFERENCES posts (id)
+);
+
+CREATE TABLE user_suspensions (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    user_id BIGINT NOT NULL,
+    reason VARCHAR(500),
+    suspended_by VARCHAR(255) NOT NULL,
+    start_date TIMESTAMP(6) NOT NULL,
+    end_date TIMESTAMP(6),
+    is_active BOOLEAN NOT NULL,
+    created_date TIMESTAMP(6),
+    CONSTRAINT pk_user_suspensions PRIMARY KEY (id),
+    CONSTRAINT fk_user_suspensions_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
@@ -0,0 +1,21 @@
+-- 인기순 정렬 키. 식 (like_count - dislike_count) 에는 인덱스를 걸 수 없으므로 생성 컬럼으로 둔다
+ALTER TABLE posts ADD COLUMN popularity_score BIGINT GENERATED ALWAYS AS (like_count - dislike_count);
+
+-- 피드 키셋 페이지네이션: (숨김 여부[, 카테고리], 정렬 키, id)
+CREATE INDEX idx_posts_hidden_created ON posts (is_hidden, created_date DESC, id DESC);
+CREATE INDEX idx_posts_category_hidden_created ON posts (category, is_hidden, created_date DESC, id DESC);
+CREATE INDEX idx_posts_hidden_views ON posts (is_hidden, view_count DESC, id DESC);
+CREATE INDEX idx_posts_category_hidden_views ON posts (category, is_hidden, view_count DESC, id DESC);
+CREATE INDEX idx_posts_hidden_popularity ON posts (is_hidden, popularity_score DESC, id DESC);
+CREATE INDEX idx_posts_category_hidden_popularity ON posts (category, is_hidden, popularity_score DESC, id DESC);
+
+-- 게시글별 댓글 개수와 키셋 페이지네이션
+CREATE INDEX idx_comments_post_id ON comments (post_id, id);
+
+-- 게시글별 좋아요/싫어요 집계
+CREATE INDEX idx_post_likes_post_type ON post_likes (post_id, like_type);
+
+CREATE INDEX idx_file_attachments_post ON file_attachments (post_id);
+
+-- 사용자별 활성 정지 조회
+CREATE INDEX idx_user_suspensions_user_active ON user_suspensions (user_id, is_active);
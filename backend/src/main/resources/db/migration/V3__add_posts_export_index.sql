@@ -0,0 +1,3 @@
+-- 관리자 게시글 목록 내보내기(PostRepository.streamAllWithUser)는 최신순으로 전체를 스트리밍한다.
+-- H2 는 PK 인덱스를 역순으로 읽지 않으므로 내림차순 인덱스가 없으면 전체를 정렬한 뒤에야 첫 행을 돌려준다.
+CREATE INDEX idx_posts_id_desc ON posts (id DESC);
@@ -0,0 +1,7 @@
+-- 관리자 사용자 목록 키셋 페이지네이션: 가입순(id 내림차순)과 포인트순. 아이디순은 username 유니크 인덱스를 쓴다
+CREATE INDEX idx_users_id_desc ON users (id DESC);
+CREATE INDEX idx_users_points ON users (points DESC, id DESC);
+
+-- 사용자별 게시글/댓글 수 집계
+CREATE INDEX idx_posts_user ON posts (user_id);
+CREATE INDEX idx_comments_user ON comments (user_id);
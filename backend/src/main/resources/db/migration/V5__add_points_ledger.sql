@@ -0,0 +1,21 @@
+-- 포인트 적립 내역(추가만 한다). users.points 는 집계기가 주기적으로 반영하는 잔액이다
+CREATE TABLE point_events (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    user_id BIGINT NOT NULL,
+    amount INT NOT NULL,
+    reason VARCHAR(30) NOT NULL,
+    created_date TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    CONSTRAINT pk_point_events PRIMARY KEY (id),
+    CONSTRAINT fk_point_events_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE INDEX idx_point_events_user ON point_events (user_id, id);
+
+-- 잔액에 반영된 마지막 적립 내역 id (한 행)
+CREATE TABLE point_ledger_watermark (
+    id INT NOT NULL,
+    last_event_id BIGINT NOT NULL,
+    CONSTRAINT pk_point_ledger_watermark PRIMARY KEY (id)
+);
+
+INSERT INTO point_ledger_watermark (id, last_event_id) VALUES (1, 0);
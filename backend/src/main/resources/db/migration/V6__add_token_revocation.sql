@@ -0,0 +1,20 @@
+-- 만료 전에 폐기된 JWT (jti). 토큰 만료 시각이 지나면 정리한다
+CREATE TABLE revoked_tokens (
+    jti VARCHAR(64) NOT NULL,
+    expires_at TIMESTAMP(6) NOT NULL,
+    revoked_date TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    CONSTRAINT pk_revoked_tokens PRIMARY KEY (jti)
+);
+
+CREATE INDEX idx_revoked_tokens_expires ON revoked_tokens (expires_at);
+
+-- 사용자별 토큰 폐기 기준 시각: 이 시각 이전에 발급된 토큰은 모두 무효 (정지, 비밀번호 변경 등)
+CREATE TABLE user_token_cutoffs (
+    user_id BIGINT NOT NULL,
+    not_before TIMESTAMP(6) NOT NULL,
+    expires_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_user_token_cutoffs PRIMARY KEY (user_id),
+    CONSTRAINT fk_user_token_cutoffs_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE INDEX idx_user_token_cutoffs_expires ON user_token_cutoffs (expires_at);
@@ -0,0 +1,2 @@
+-- 사용자 잔액(points)에 반영된 마지막 적립 내역 id. 응답에 미반영분을 더할 때 이 id 이후의 것만 더한다
+ALTER TABLE users ADD COLUMN points_event_id BIGINT DEFAULT 0 NOT NULL;
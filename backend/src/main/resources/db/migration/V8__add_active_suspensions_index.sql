@@ -0,0 +1,2 @@
+-- SuspensionRegistry 가 주기적으로 활성 정지 전체를 다시 읽는다
+CREATE INDEX idx_user_suspensions_active ON user_suspensions (is_active, user_id);
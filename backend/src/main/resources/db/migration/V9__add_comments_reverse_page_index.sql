@@ -0,0 +1,3 @@
+-- 댓글 이전 페이지(CommentRepository.findPageByPostIdBefore)는 id 내림차순으로 읽는다.
+-- H2 는 (post_id, id) 인덱스를 역순으로 읽지 않으므로 내림차순 인덱스가 없으면 게시글의 댓글을 모두 정렬한다.
+CREATE INDEX idx_comments_post_id_desc ON comments (post_id DESC, id DESC);
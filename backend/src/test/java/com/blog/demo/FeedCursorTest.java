@@ -0,0 +1,156 @@
+package com.blog.demo;
+
+import com.blog.demo.dto.CursorPageResponse;
+import com.blog.demo.dto.PostSummary;
+import com.blog.demo.entity.Post;
+import com.blog.demo.repository.PostRepository;
+import com.blog.demo.service.PostService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 피드 키셋 커서. 정렬 키가 같은 게시글이 페이지 경계에 걸려도 빠지거나 겹치지 않아야 한다.
+ * 기대 순서는 정렬 키 내림차순, 같으면 id 내림차순.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:feedcursortest",
+        "spring.jpa.show-sql=false",
+        "app.viewCount.flushIntervalMs=3600000"
+})
+class FeedCursorTest {
+
+    private static final String UPDATE_KEYS_SQL =
+            "UPDATE posts SET created_date = ?, view_count = ?, like_count = ?, is_hidden = ? WHERE id = ?";
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 1, 12, 0);
+    private static final String[] SORTS = {"recent", "views", "popularity"};
+
+    // 게시글마다 {작성 시각(분), 조회수, 좋아요 수, 숨김 여부}. 대부분 같은 키를 공유한다
+    private static final long[][] KEYS = {
+            {0, 5, 1, 0},
+            {0, 5, 1, 0},
+            {0, 9, 1, 0},
+            {0, 5, 1, 1},
+            {0, 9, 1, 0},
+            {-1, 5, 2, 0},
+            {-1, 0, 0, 0}
+    };
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void tiedKeysArePagedWithoutGapsOrDuplicates() {
+        String category = "cursor-" + UUID.randomUUID().toString().substring(0, 8);
+        List<long[]> visible = createPosts(category);
+
+        for (String sort : SORTS) {
+            List<Long> expected = expectedOrder(visible, sort);
+            // 6건: 딱 나누어떨어지는 크기와 남는 크기 모두
+            for (int size : new int[]{1, 2, 3, 4, 6, 7}) {
+                assertEquals(expected, readAll(sort, category, size), sort + " size " + size);
+            }
+            // 전체 피드에서도 이 테스트의 게시글 순서는 같다
+            Set<Long> ids = new HashSet<>(expected);
+            List<Long> all = readAll(sort, "all", 2).stream().filter(ids::contains).collect(Collectors.toList());
+            assertEquals(expected, all, sort + " all");
+        }
+    }
+
+    @Test
+    public void lastPageHasNoCursor() {
+        String category = "cursor-" + UUID.randomUUID().toString().substring(0, 8);
+        createPosts(category);
+
+        CursorPageResponse<PostSummary> first = postService.getAllPostsSorted("recent", category, null, 3);
+        assertTrue(first.isHasNext());
+        CursorPageResponse<PostSummary> last = postService.getAllPostsSorted("recent", category, first.getNextCursor(), 3);
+        assertEquals(3, last.getContent().size());
+        // 남은 게시글이 없으면 빈 페이지를 하나 더 만들지 않는다
+        assertFalse(last.isHasNext());
+        assertNull(last.getNextCursor());
+
+        CursorPageResponse<PostSummary> empty = postService.getAllPostsSorted("recent", "cursor-none", null, 3);
+        assertTrue(empty.getContent().isEmpty());
+        assertNull(empty.getNextCursor());
+    }
+
+    @Test
+    public void cursorFromAnotherSortIsRejected() {
+        String category = "cursor-" + UUID.randomUUID().toString().substring(0, 8);
+        createPosts(category);
+
+        String cursor = postService.getAllPostsSorted("views", category, null, 2).getNextCursor();
+        assertThrows(RuntimeException.class, () -> postService.getAllPostsSorted("recent", category, cursor, 2));
+        assertThrows(RuntimeException.class, () -> postService.getAllPostsSorted("views", category, "not-a-cursor", 2));
+    }
+
+    private List<Long> readAll(String sort, String category, int size) {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPageResponse<PostSummary> page = postService.getAllPostsSorted(sort, category, cursor, size);
+            assertFalse(page.getContent().isEmpty());
+            assertTrue(page.getContent().size() <= size);
+            if (page.isHasNext()) {
+                assertEquals(size, page.getContent().size());
+            }
+            page.getContent().forEach(post -> ids.add(post.getId()));
+            cursor = page.getNextCursor();
+            assertTrue(ids.size() <= 1000);
+        } while (cursor != null);
+        return ids;
+    }
+
+    // 숨기지 않은 게시글의 {id, 작성 시각(분), 조회수, 좋아요 수}
+    private List<long[]> createPosts(String category) {
+        List<long[]> visible = new ArrayList<>();
+        for (long[] key : KEYS) {
+            Post post = new Post();
+            post.setTitle("cursor");
+            post.setContent("cursor");
+            post.setCategory(category);
+            Long id = postRepository.save(post).getId();
+            jdbcTemplate.update(UPDATE_KEYS_SQL, NOW.plusMinutes(key[0]), key[1], key[2], key[3] == 1, id);
+            if (key[3] == 0) {
+                visible.add(new long[]{id, key[0], key[1], key[2]});
+            }
+        }
+        return visible;
+    }
+
+    private List<Long> expectedOrder(List<long[]> posts, String sort) {
+        ToLongFunction<long[]> key = switch (sort) {
+            case "views" -> post -> post[2];
+            case "popularity" -> post -> post[3];
+            default -> post -> post[1];
+        };
+        return posts.stream()
+                .sorted(Comparator.comparingLong(key).thenComparingLong(post -> post[0]).reversed())
+                .map(post -> post[0])
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,190 @@
+package com.blog.demo;
+
+import com.blog.demo.entity.Post;
+import com.blog.demo.entity.User;
+import com.blog.demo.repository.PostLikeRepository;
+import com.blog.demo.repository.PostRepository;
+import com.blog.demo.repository.UserRepository;
+import com.blog.demo.service.PostService;
+import com.blog.demo.service.UserPrincipal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 좋아요/싫어요 동시 요청. 게시글의 like_count/dislike_count 가 post_likes 행과 어긋나지 않아야 한다.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:liketoggletest",
+        "spring.jpa.show-sql=false"
+})
+class LikeToggleTest {
+
+    private static final String LIKE_ROWS_SQL = "SELECT COUNT(*) FROM post_likes WHERE post_id = ? AND like_type = ?";
+    private static final String LIKE_COUNT_SQL = "SELECT like_count FROM posts WHERE id = ?";
+    private static final String DISLIKE_COUNT_SQL = "SELECT dislike_count FROM posts WHERE id = ?";
+    private static final String RETRIES_EXHAUSTED = "Could not update like for post";
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @SpyBean
+    private PostLikeRepository postLikeRepository;
+
+    @AfterEach
+    public void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void concurrentLikesFromDifferentUsersAreAllCounted() throws Exception {
+        Long postId = createPost();
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            users.add(createUser());
+        }
+
+        runConcurrently(users.size(), i -> {
+            authenticate(users.get(i));
+            postService.toggleLike(postId, "like");
+        });
+
+        assertEquals(8, likeRows(postId, "LIKE"));
+        assertEquals(8, likeCount(postId));
+        assertEquals(0, dislikeCount(postId));
+    }
+
+    @Test
+    public void concurrentTogglesBySameUserKeepCountsConsistent() throws Exception {
+        Long postId = createPost();
+        User user = createUser();
+
+        runConcurrently(8, i -> {
+            authenticate(user);
+            for (int j = 0; j < 10; j++) {
+                try {
+                    postService.toggleLike(postId, (i + j) % 3 == 0 ? "dislike" : "like");
+                } catch (RuntimeException e) {
+                    // 충돌이 계속되면 재시도를 포기할 수는 있지만 다른 오류는 없어야 한다
+                    if (!e.getMessage().startsWith(RETRIES_EXHAUSTED)) {
+                        throw e;
+                    }
+                }
+            }
+        });
+
+        long likes = likeRows(postId, "LIKE");
+        long dislikes = likeRows(postId, "DISLIKE");
+        assertTrue(likes + dislikes <= 1);
+        assertEquals(likes, likeCount(postId));
+        assertEquals(dislikes, dislikeCount(postId));
+    }
+
+    @Test
+    public void exhaustedRetriesKeepTheLastConflictAsCause() {
+        Long postId = createPost();
+        authenticate(createUser());
+        ConcurrencyFailureException conflict = new ConcurrencyFailureException("Like was changed concurrently");
+        doThrow(conflict).when(postLikeRepository).findByUserIdAndPostId(anyLong(), anyLong());
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> postService.toggleLike(postId, "like"));
+        assertTrue(e.getMessage().startsWith(RETRIES_EXHAUSTED));
+        assertSame(conflict, e.getCause());
+        verify(postLikeRepository, times(3)).findByUserIdAndPostId(anyLong(), anyLong());
+    }
+
+    private void runConcurrently(int threads, IntConsumer task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            int index = i;
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    task.accept(index);
+                } finally {
+                    SecurityContextHolder.clearContext();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private void authenticate(User user) {
+        UserPrincipal principal = UserPrincipal.create(user);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    private Long createPost() {
+        Post post = new Post();
+        post.setTitle("likes");
+        post.setContent("likes");
+        post.setCategory("likes");
+        return postRepository.save(post).getId();
+    }
+
+    private User createUser() {
+        String name = "like-" + UUID.randomUUID().toString().substring(0, 8);
+        User user = new User();
+        user.setUsername(name);
+        user.setEmail(name + "@example.com");
+        user.setPassword("unused");
+        user.setDisplayName(name);
+        return userRepository.save(user);
+    }
+
+    private long likeRows(Long postId, String likeType) {
+        return jdbcTemplate.queryForObject(LIKE_ROWS_SQL, Long.class, postId, likeType);
+    }
+
+    private long likeCount(Long postId) {
+        return jdbcTemplate.queryForObject(LIKE_COUNT_SQL, Long.class, postId);
+    }
+
+    private long dislikeCount(Long postId) {
+        return jdbcTemplate.queryForObject(DISLIKE_COUNT_SQL, Long.class, postId);
+    }
+}
@@ -0,0 +1,116 @@
+package com.blog.demo;
+
+import com.blog.demo.entity.User;
+import com.blog.demo.repository.UserRepository;
+import com.blog.demo.security.LoginAttemptThrottle;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * 로그인 실패 제한. 실제 Tomcat 으로 요청을 보내 nginx 처럼 X-Forwarded-For 를 붙인다.
+ * 각 테스트는 서로 다른 아이디와 IP 를 써서 제한 상태를 공유하지 않는다.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.jpa.show-sql=false",
+        "app.auth.maxFailuresPerIp=3",
+        "app.auth.maxFailuresPerUsername=2"
+})
+class LoginThrottleTest {
+
+    private static final String PASSWORD = "correct-horse";
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private LoginAttemptThrottle loginAttemptThrottle;
+
+    @Test
+    public void forwardedClientsAreThrottledSeparately() {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(HttpStatus.BAD_REQUEST, login("203.0.113.1", "nobody-a" + i, "wrong").getStatusCode());
+        }
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, login("203.0.113.1", "nobody-a3", "wrong").getStatusCode());
+
+        // 같은 프록시(루프백)를 거쳐도 다른 클라이언트는 따로 센다
+        assertEquals(HttpStatus.BAD_REQUEST, login("203.0.113.2", "nobody-b0", "wrong").getStatusCode());
+    }
+
+    @Test
+    public void usernameStaysLockedFromOtherIps() {
+        String username = createUser();
+        assertEquals(HttpStatus.BAD_REQUEST, login("198.51.100.1", username, "wrong").getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, login("198.51.100.2", username, "wrong").getStatusCode());
+
+        // IP 를 바꿔도, 비밀번호가 맞아도 구간이 끝날 때까지 거절한다
+        ResponseEntity<String> locked = login("198.51.100.3", username, PASSWORD);
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, locked.getStatusCode());
+        assertNotNull(locked.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    public void successfulLoginResetsUsernameFailures() {
+        String username = createUser();
+        assertEquals(HttpStatus.BAD_REQUEST, login("198.51.100.11", username, "wrong").getStatusCode());
+        assertEquals(HttpStatus.OK, login("198.51.100.11", username, PASSWORD).getStatusCode());
+
+        // 성공 전의 실패는 더 이상 세지 않는다
+        assertEquals(HttpStatus.BAD_REQUEST, login("198.51.100.11", username, "wrong").getStatusCode());
+        assertEquals(HttpStatus.OK, login("198.51.100.11", username, PASSWORD).getStatusCode());
+    }
+
+    @Test
+    public void lockoutEndsWhenTheWindowExpires() throws InterruptedException {
+        long windowMs = (long) ReflectionTestUtils.getField(loginAttemptThrottle, "failureWindowMs");
+        ReflectionTestUtils.setField(loginAttemptThrottle, "failureWindowMs", 1000L);
+        try {
+            String username = createUser();
+            assertEquals(HttpStatus.BAD_REQUEST, login("198.51.100.21", username, "wrong").getStatusCode());
+            assertEquals(HttpStatus.BAD_REQUEST, login("198.51.100.21", username, "wrong").getStatusCode());
+            assertEquals(HttpStatus.TOO_MANY_REQUESTS, login("198.51.100.21", username, PASSWORD).getStatusCode());
+
+            Thread.sleep(1100);
+            assertEquals(HttpStatus.OK, login("198.51.100.21", username, PASSWORD).getStatusCode());
+        } finally {
+            ReflectionTestUtils.setField(loginAttemptThrottle, "failureWindowMs", windowMs);
+        }
+    }
+
+    private String createUser() {
+        String name = "throttle-" + UUID.randomUUID().toString().substring(0, 8);
+        User user = new User();
+        user.setUsername(name);
+        user.setEmail(name + "@example.com");
+        user.setPassword(passwordEncoder.encode(PASSWORD));
+        user.setDisplayName(name);
+        userRepository.save(user);
+        return name;
+    }
+
+    private ResponseEntity<String> login(String clientIp, String username, String password) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Forwarded-For", clientIp);
+        return restTemplate.postForEntity("/api/auth/login",
+                new HttpEntity<>(Map.of("username", username, "password", password), headers), String.class);
+    }
+}
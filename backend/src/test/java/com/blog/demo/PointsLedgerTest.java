@@ -0,0 +1,151 @@
+package com.blog.demo;
+
+import com.blog.demo.entity.User;
+import com.blog.demo.repository.UserRepository;
+import com.blog.demo.service.ContentVersions;
+import com.blog.demo.service.PointsLedger;
+import com.blog.demo.service.PointsOverlay;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+
+/**
+ * 포인트 원장의 INSERT(flush)와 잔액 집계(aggregate)를 H2 에 실제로 커밋하며 확인한다.
+ * 예약 실행은 끄고 테스트가 직접 호출한다.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:pointsledgertest",
+        "spring.jpa.show-sql=false",
+        "app.points.flushIntervalMs=3600000",
+        "app.points.aggregateIntervalMs=3600000",
+        "app.points.settleMs=0"
+})
+class PointsLedgerTest {
+
+    private static final String EVENT_COUNT_SQL = "SELECT COUNT(*) FROM point_events WHERE user_id = ?";
+    private static final String BALANCE_SQL = "SELECT points FROM users WHERE id = ?";
+
+    @Autowired
+    private PointsLedger pointsLedger;
+
+    @Autowired
+    private PointsOverlay pointsOverlay;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ContentVersions contentVersions;
+
+    @SpyBean
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void flushAndAggregateApplyEachEventOnce() throws InterruptedException {
+        User first = createUser();
+        User second = createUser();
+        // first 가 작성한 게시글 상세 응답
+        Long postId = -first.getId();
+        contentVersions.recordPostAuthor(postId, first.getId());
+        String eTag = contentVersions.post(postId).getETag();
+
+        pointsLedger.award(first, 5, PointsLedger.LOGIN);
+        pointsLedger.award(second, 3, PointsLedger.LOGIN);
+        pointsLedger.award(first, 7, PointsLedger.LOGIN);
+        // 적립만으로는 ETag 가 바뀌지 않는다
+        assertEquals(eTag, contentVersions.post(postId).getETag());
+
+        pointsLedger.flush();
+        assertEquals(2, eventCount(first));
+        assertEquals(1, eventCount(second));
+        // 배치의 행마다 생성된 id 가 하나씩 돌아와야 미반영분이 id 로 구분된다
+        assertEquals(12, pointsOverlay.get(first.getId(), 0L));
+        assertEquals(0, pointsOverlay.get(first.getId(), Long.MAX_VALUE));
+
+        Thread.sleep(10);
+        pointsLedger.aggregate();
+        assertEquals(12, balance(first));
+        assertEquals(3, balance(second));
+        assertNotEquals(eTag, contentVersions.post(postId).getETag());
+
+        // 집계된 행을 읽으면 미반영분을 다시 더하지 않는다
+        User reloaded = userRepository.findById(first.getId()).orElseThrow();
+        assertEquals(12, reloaded.getCurrentPoints());
+
+        // 다음 집계는 같은 내역을 다시 더하지 않는다
+        pointsLedger.aggregate();
+        assertEquals(12, balance(first));
+    }
+
+    @Test
+    public void constraintViolationDropsOnlyTheBadEvent() {
+        User user = createUser();
+        User deleted = new User();
+        deleted.setId(Long.MAX_VALUE);
+        pointsLedger.award(user, 4, PointsLedger.LOGIN);
+        pointsLedger.award(deleted, 9, PointsLedger.LOGIN);
+        pointsLedger.award(user, 6, PointsLedger.LOGIN);
+
+        pointsLedger.flush();
+        assertEquals(2, eventCount(user));
+        assertEquals(0, eventCount(deleted));
+        assertEquals(0, pointsOverlay.get(deleted.getId(), 0L));
+
+        // 버린 적립은 다시 시도하지 않고, 이미 넣은 적립은 다시 넣지 않는다
+        pointsLedger.flush();
+        assertEquals(2, eventCount(user));
+    }
+
+    @Test
+    public void transientFailureRetriesTheWholeBatchOnce() {
+        User user = createUser();
+        pointsLedger.award(user, 2, PointsLedger.LOGIN);
+        pointsLedger.award(user, 8, PointsLedger.LOGIN);
+
+        doThrow(new TransientDataAccessResourceException("connection lost"))
+                .doCallRealMethod()
+                .when(jdbcTemplate).batchUpdate(any(PreparedStatementCreator.class),
+                        any(BatchPreparedStatementSetter.class), any(KeyHolder.class));
+        assertThrows(TransientDataAccessResourceException.class, () -> pointsLedger.flush());
+        assertEquals(0, eventCount(user));
+        assertEquals(10, pointsOverlay.get(user.getId(), 0L));
+
+        pointsLedger.flush();
+        assertEquals(2, eventCount(user));
+        assertEquals(10, pointsOverlay.get(user.getId(), 0L));
+    }
+
+    private User createUser() {
+        String name = "ledger-" + UUID.randomUUID().toString().substring(0, 8);
+        User user = new User();
+        user.setUsername(name);
+        user.setEmail(name + "@example.com");
+        user.setPassword("unused");
+        user.setDisplayName(name);
+        return userRepository.save(user);
+    }
+
+    private long eventCount(User user) {
+        return jdbcTemplate.queryForObject(EVENT_COUNT_SQL, Long.class, user.getId());
+    }
+
+    private int balance(User user) {
+        List<Integer> points = jdbcTemplate.queryForList(BALANCE_SQL, Integer.class, user.getId());
+        return points.get(0);
+    }
+}
@@ -0,0 +1,101 @@
+package com.blog.demo;
+
+import com.blog.demo.entity.Post;
+import com.blog.demo.entity.User;
+import com.blog.demo.repository.PostRepository;
+import com.blog.demo.repository.UserRepository;
+import com.blog.demo.service.PostSearchIndex;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 검색 색인이 기존 ...ContainingIgnoreCase(LIKE '%keyword%') 검색과 같은 결과를 내는지 확인한다.
+ * 테스트가 만든 게시글만 새 색인에 넣고, 같은 게시글에 대해 H2 의 LIKE 결과와 비교한다.
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@Transactional
+class PostSearchIndexTest {
+
+    private static final String[] TEXTS = {
+            "Hello World", "hello", "안녕하세요 여러분", "100% 할인", "snake_case 이름", "ab", "a", "", "HELLO wOrLd 안녕"
+    };
+    private static final String[] KEYWORDS = {
+            "h", "H", "o", "b", "안", "녕", "%", "_", "\\", "hello", "LO W", "안녕", "하세요 여", "0%", "e_c", "ab", "a", "zz", "없음"
+    };
+    private static final String[] TYPES = {"title", "content", "author", "all"};
+    private static final String LIKE_SQL = "SELECT p.id FROM posts p LEFT JOIN users u ON u.id = p.user_id " +
+            "WHERE p.id IN (%s) AND UPPER(%s) LIKE UPPER(?) ESCAPE '\\'";
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void indexMatchesLikeSemantics() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        User[] authors = {createUser("Hello-" + suffix), createUser("a_b-" + suffix), createUser("x%y-" + suffix), null};
+
+        PostSearchIndex index = new PostSearchIndex();
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < TEXTS.length; i++) {
+            Post post = new Post();
+            post.setTitle(TEXTS[i]);
+            post.setContent(TEXTS[(i + 3) % TEXTS.length]);
+            post.setCategory("search");
+            post.setUser(authors[i % authors.length]);
+            post = postRepository.save(post);
+            index.index(post);
+            ids.add(post.getId());
+        }
+        String idList = ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+
+        for (String keyword : KEYWORDS) {
+            for (String type : TYPES) {
+                assertEquals(like(idList, keyword, type), index.search(keyword, type), type + " '" + keyword + "'");
+            }
+        }
+    }
+
+    // 최신순(id 내림차순)
+    private List<Long> like(String idList, String keyword, String type) {
+        String pattern = "%" + keyword.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        List<String> columns = switch (type) {
+            case "title" -> List.of("p.title");
+            case "content" -> List.of("p.content");
+            case "author" -> List.of("u.username");
+            default -> List.of("p.title", "p.content", "u.username");
+        };
+        Set<Long> result = new TreeSet<>(Comparator.reverseOrder());
+        for (String column : columns) {
+            result.addAll(jdbcTemplate.queryForList(String.format(LIKE_SQL, idList, column), Long.class, pattern));
+        }
+        return new ArrayList<>(result);
+    }
+
+    private User createUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(UUID.randomUUID() + "@example.com");
+        user.setPassword("unused");
+        user.setDisplayName(username);
+        return userRepository.save(user);
+    }
+}
@@ -0,0 +1,312 @@
+package com.blog.demo;
+
+import com.blog.demo.config.QueryCountInspector;
+import com.blog.demo.entity.PostLike.LikeType;
+import com.blog.demo.entity.User;
+import com.blog.demo.repository.CommentRepository;
+import com.blog.demo.repository.FileAttachmentRepository;
+import com.blog.demo.repository.PostLikeRepository;
+import com.blog.demo.repository.PostRepository;
+import com.blog.demo.repository.UserRepository;
+import com.blog.demo.repository.UserSuspensionRepository;
+import com.blog.demo.security.TokenRevocationRegistry;
+import com.blog.demo.service.PointsLedger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.mockito.invocation.Invocation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 리포지토리 쿼리의 실행 계획 점검.
+ * 각 쿼리를 Flyway 스키마의 H2 에서 실제로 실행해 Hibernate(QueryCountInspector)와 JdbcTemplate 이 보낸 SQL 을 모으고,
+ * EXPLAIN 결과에 테이블 전체 스캔, 행 수 제한 전에 전부 정렬하는 계획, 조건 없는 인덱스 전체 읽기가 있으면 실패하고,
+ * 키셋/범위 쿼리는 기대한 인덱스를 정렬 키 조건으로 읽는지도 확인한다. 인덱스 마이그레이션을 바꾸거나 쿼리를 추가하면 여기에도 추가한다.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        // 테스트 트랜잭션이 워터마크 행을 잡고 있는 동안 예약 집계가 돌지 않게 한다
+        "app.points.aggregateIntervalMs=3600000"
+})
+@Transactional
+class QueryPlanTest {
+
+    private static final String TABLE_SCAN = ".tableScan";
+    private static final String INDEX_SORTED = "/* index sorted */";
+    // /* PUBLIC.인덱스: 조건 */ 에서 조건이 없으면 인덱스 전체를 읽는다
+    private static final Pattern INDEX_ACCESS = Pattern.compile("/\\* PUBLIC\\.(\\w+)(:?)");
+    private static final Pattern ROW_LIMIT = Pattern.compile("\\b(FETCH|LIMIT)\\b");
+    // 시작 시 메모리 색인/사용자 캐시를 채우려고 일부러 전체를 읽는 쿼리
+    private static final Set<String> FULL_READS = Set.of("UserRepository.streamAll", "PostRepository.streamAllWithUser");
+
+    private static final String SEED_USERS_SQL = "INSERT INTO users (username, password, email, points, role, created_date) " +
+            "SELECT 'plan' || X, 'x', 'plan' || X || '@example.com', MOD(X * 31, 997), 'USER', " +
+            "DATEADD(SECOND, X, TIMESTAMP '2024-01-01 00:00:00') FROM SYSTEM_RANGE(1, 2000)";
+    private static final String SEED_POSTS_SQL = "INSERT INTO posts (title, content, category, user_id, view_count, " +
+            "like_count, dislike_count, is_hidden, created_date) " +
+            "SELECT 'plan' || X, 'plan', 'plan' || MOD(X, 5), u.id, MOD(X * 7919, 10007), MOD(X, 13), MOD(X, 7), " +
+            "MOD(X, 50) = 0, DATEADD(SECOND, X, TIMESTAMP '2024-01-01 00:00:00') " +
+            "FROM SYSTEM_RANGE(1, 5000) JOIN users u ON u.username = 'plan' || (MOD(X, 2000) + 1)";
+    private static final String SEED_COMMENTS_SQL = "INSERT INTO comments (content, author, post_id, user_id, created_date) " +
+            "SELECT 'plan', 'plan', p.id, p.user_id, p.created_date FROM posts p JOIN SYSTEM_RANGE(1, 3) ON TRUE " +
+            "WHERE p.title LIKE 'plan%'";
+    private static final Pageable PAGE = PageRequest.of(0, 21);
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private PostLikeRepository postLikeRepository;
+
+    @Autowired
+    private FileAttachmentRepository fileAttachmentRepository;
+
+    @Autowired
+    private UserSuspensionRepository userSuspensionRepository;
+
+    @Autowired
+    private PointsLedger pointsLedger;
+
+    @Autowired
+    private TokenRevocationRegistry tokenRevocationRegistry;
+
+    @SpyBean
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<String> failures = new ArrayList<>();
+
+    // 빈 테이블에서는 어느 인덱스나 비용이 같아 H2 가 아무 인덱스나 고른다. 테스트 트랜잭션 안에서 행을 채워 둔다
+    @BeforeEach
+    public void seedRows() {
+        jdbcTemplate.update(SEED_USERS_SQL);
+        jdbcTemplate.update(SEED_POSTS_SQL);
+        jdbcTemplate.update(SEED_COMMENTS_SQL);
+    }
+
+    @AfterEach
+    public void assertIndexedPlans() {
+        assertTrue(failures.isEmpty(), "Queries read more than they return:\n" + String.join("\n\n", failures));
+    }
+
+    @Test
+    public void postQueries() {
+        LocalDateTime now = LocalDateTime.now();
+
+        checkRepository("PostRepository.findVisibleRecentAfter", "IDX_POSTS_HIDDEN_CREATED", "CREATED_DATE <=",
+                () -> postRepository.findVisibleRecentAfter(now, 1L, PAGE));
+        checkRepository("PostRepository.findVisibleRecentByCategoryAfter", "IDX_POSTS_CATEGORY_HIDDEN_CREATED", "CREATED_DATE <=",
+                () -> postRepository.findVisibleRecentByCategoryAfter("free", now, 1L, PAGE));
+        checkRepository("PostRepository.findVisibleByViewsAfter", "IDX_POSTS_HIDDEN_VIEWS", "VIEW_COUNT <=",
+                () -> postRepository.findVisibleByViewsAfter(100L, 1L, PAGE));
+        checkRepository("PostRepository.findVisibleByCategoryAndViewsAfter", "IDX_POSTS_CATEGORY_HIDDEN_VIEWS", "VIEW_COUNT <=",
+                () -> postRepository.findVisibleByCategoryAndViewsAfter("free", 100L, 1L, PAGE));
+        checkRepository("PostRepository.findVisibleByPopularityAfter", "IDX_POSTS_HIDDEN_POPULARITY", "POPULARITY_SCORE <=",
+                () -> postRepository.findVisibleByPopularityAfter(10L, 1L, PAGE));
+        checkRepository("PostRepository.findVisibleByCategoryAndPopularityAfter", "IDX_POSTS_CATEGORY_HIDDEN_POPULARITY", "POPULARITY_SCORE <=",
+                () -> postRepository.findVisibleByCategoryAndPopularityAfter("free", 10L, 1L, PAGE));
+        checkRepository("PostRepository.streamAllWithUser", () -> {
+            try (Stream<?> posts = postRepository.streamAllWithUser()) {
+                posts.count();
+            }
+        });
+        checkRepository("PostRepository.findDetailById", () -> postRepository.findDetailById(1L));
+        checkRepository("PostRepository.findVisibleSummariesByIdIn",
+                () -> postRepository.findVisibleSummariesByIdIn(List.of(1L, 2L, 3L)));
+        checkRepository("PostRepository.findBatchWithUserAfter", () -> postRepository.findBatchWithUserAfter(0L, PAGE));
+        checkRepository("PostRepository.findIdsByUserFilter",
+                () -> postRepository.findIdsByUserFilter(1L, "free", now.minusDays(1), now));
+        checkRepository("PostRepository.findIdsByCategoryAndCreatedRange", "IDX_POSTS_CATEGORY_HIDDEN_CREATED", "CREATED_DATE >=",
+                () -> postRepository.findIdsByCategoryAndCreatedRange("free", false, now.minusDays(1), now));
+        checkRepository("PostRepository.findIdsByCreatedRange", "IDX_POSTS_HIDDEN_CREATED", "CREATED_DATE >=",
+                () -> postRepository.findIdsByCreatedRange(false, now.minusDays(1), now));
+        checkRepository("PostRepository.findAllWithUserByIdIn", () -> postRepository.findAllWithUserByIdIn(List.of(1L, 2L, 3L)));
+        checkRepository("PostRepository.findAuthorUsernameById", () -> postRepository.findAuthorUsernameById(1L));
+        checkRepository("PostRepository.addLikeCounts", () -> postRepository.addLikeCounts(1L, 1L, 0L));
+        checkRepository("PostRepository.findLikeCountsById", () -> postRepository.findLikeCountsById(1L));
+        checkRepository("PostRepository.countByUserIdIn", () -> postRepository.countByUserIdIn(List.of(1L, 2L, 3L)));
+    }
+
+    @Test
+    public void userQueries() {
+        LocalDateTime now = LocalDateTime.now();
+
+        checkRepository("UserRepository.streamAll", () -> {
+            try (Stream<?> users = userRepository.streamAll()) {
+                users.count();
+            }
+        });
+        checkRepository("UserRepository.findDirectoryByRecentAfter",
+                () -> userRepository.findDirectoryByRecentAfter(100L, null, User.Role.USER, null, now, PAGE));
+        checkRepository("UserRepository.findDirectoryByRecentAfter (suspended)",
+                () -> userRepository.findDirectoryByRecentAfter(100L, null, null, true, now, PAGE));
+        checkRepository("UserRepository.findDirectoryByUsernameAfter",
+                () -> userRepository.findDirectoryByUsernameAfter("a", "ad%", null, null, now, PAGE));
+        checkRepository("UserRepository.findDirectoryByPointsAfter", "IDX_USERS_POINTS", "POINTS <=",
+                () -> userRepository.findDirectoryByPointsAfter(100, 1L, null, null, null, now, PAGE));
+        checkRepository("UserRepository.findByIdGreaterThanOrderByIdAsc",
+                () -> userRepository.findByIdGreaterThanOrderByIdAsc(0L, PAGE));
+        checkRepository("UserRepository.findByUsername", () -> userRepository.findByUsername("admin"));
+        checkRepository("UserRepository.findByEmail", () -> userRepository.findByEmail("admin@example.com"));
+        checkRepository("UserRepository.existsByUsername", () -> userRepository.existsByUsername("admin"));
+        checkRepository("UserRepository.existsByEmail", () -> userRepository.existsByEmail("admin@example.com"));
+    }
+
+    @Test
+    public void commentAndLikeQueries() {
+        checkRepository("CommentRepository.countByPostId", () -> commentRepository.countByPostId(1L));
+        checkRepository("CommentRepository.findPageByPostIdAfter", "IDX_COMMENTS_POST_ID", "ID >",
+                () -> commentRepository.findPageByPostIdAfter(1L, 0L, PAGE));
+        checkRepository("CommentRepository.findPageByPostIdBefore", "IDX_COMMENTS_POST_ID_DESC", "ID <",
+                () -> commentRepository.findPageByPostIdBefore(1L, 100L, PAGE));
+        checkRepository("CommentRepository.countByUserIdIn", () -> commentRepository.countByUserIdIn(List.of(1L, 2L, 3L)));
+        checkRepository("PostLikeRepository.findByUserIdAndPostId", () -> postLikeRepository.findByUserIdAndPostId(1L, 1L));
+        checkRepository("PostLikeRepository.countByPostIdAndLikeType",
+                () -> postLikeRepository.countByPostIdAndLikeType(1L, LikeType.LIKE));
+        checkRepository("PostLikeRepository.updateLikeType",
+                () -> postLikeRepository.updateLikeType(1L, LikeType.LIKE, LikeType.DISLIKE));
+        checkRepository("PostLikeRepository.deleteByIdAndLikeType",
+                () -> postLikeRepository.deleteByIdAndLikeType(1L, LikeType.LIKE));
+        checkRepository("PostLikeRepository.deleteByUserIdAndPostId",
+                () -> postLikeRepository.deleteByUserIdAndPostId(1L, 1L));
+        checkRepository("FileAttachmentRepository.findByPostId", () -> fileAttachmentRepository.findByPostId(1L));
+    }
+
+    @Test
+    public void suspensionQueries() {
+        LocalDateTime now = LocalDateTime.now();
+
+        checkRepository("UserSuspensionRepository.findActiveSuspensionByUserId",
+                () -> userSuspensionRepository.findActiveSuspensionByUserId(1L, now));
+        checkRepository("UserSuspensionRepository.findByUserIdAndIsActiveTrue",
+                () -> userSuspensionRepository.findByUserIdAndIsActiveTrue(1L));
+        checkRepository("UserSuspensionRepository.findActiveByUserIdIn",
+                () -> userSuspensionRepository.findActiveByUserIdIn(List.of(1L, 2L, 3L), now));
+        checkRepository("UserSuspensionRepository.deactivateByIdIn",
+                () -> userSuspensionRepository.deactivateByIdIn(List.of(1L, 2L, 3L)));
+        checkRepository("UserSuspensionRepository.findAllActive", () -> userSuspensionRepository.findAllActive());
+    }
+
+    @Test
+    public void ledgerAndRevocationQueries() {
+        Long adminId = userRepository.findByUsername("admin").orElseThrow().getId();
+        // 집계가 합산/반영 단계까지 가도록 settle 시간이 지난 적립 내역을 하나 둔다
+        jdbcTemplate.update("INSERT INTO point_events (user_id, amount, reason, created_date) VALUES (?, 1, 'TEST', ?)",
+                adminId, Timestamp.valueOf(LocalDateTime.now().minusHours(1)));
+
+        checkJdbc("PointsLedger.aggregate", () -> pointsLedger.aggregate());
+        checkJdbc("TokenRevocationRegistry.revokeAllForUser", () -> tokenRevocationRegistry.revokeAllForUser(adminId));
+        checkJdbc("TokenRevocationRegistry.prune", () -> tokenRevocationRegistry.prune());
+    }
+
+    private void checkRepository(String name, Runnable call) {
+        checkRepository(name, null, null, call);
+    }
+
+    // Hibernate 가 보낸 SQL. index 가 있으면 그 인덱스를 seek 조건(정렬/범위 컬럼)으로 읽어야 한다
+    private void checkRepository(String name, String index, String seek, Runnable call) {
+        QueryCountInspector.startCapture();
+        List<String> statements;
+        try {
+            call.run();
+        } finally {
+            statements = QueryCountInspector.stopCapture();
+        }
+        explainAll(name, index, seek, statements);
+    }
+
+    // JdbcTemplate 에 넘긴 SQL
+    private void checkJdbc(String name, Runnable call) {
+        Mockito.clearInvocations(jdbcTemplate);
+        call.run();
+        Set<String> statements = new LinkedHashSet<>();
+        for (Invocation invocation : Mockito.mockingDetails(jdbcTemplate).getInvocations()) {
+            Object[] arguments = invocation.getArguments();
+            if (arguments.length > 0 && arguments[0] instanceof String) {
+                statements.add((String) arguments[0]);
+            }
+        }
+        explainAll(name, null, null, new ArrayList<>(statements));
+    }
+
+    private void explainAll(String name, String index, String seek, List<String> statements) {
+        assertFalse(statements.isEmpty(), name + " issued no SQL");
+        for (String sql : statements) {
+            String plan = explain(sql);
+            String problem = findProblem(name, plan, index, seek);
+            if (problem != null) {
+                failures.add(name + ": " + problem + "\n" + plan);
+            }
+        }
+    }
+
+    // 인덱스 전체를 읽어도 되는 경우는 행 수 제한이 있고 인덱스 순서를 그대로 내보내 제한만큼 읽고 멈출 때뿐이다
+    private String findProblem(String name, String plan, String index, String seek) {
+        if (plan.contains(TABLE_SCAN)) {
+            return "table scan";
+        }
+        boolean limited = ROW_LIMIT.matcher(plan).find();
+        boolean indexSorted = plan.contains(INDEX_SORTED);
+        if (limited && plan.contains("ORDER BY") && !indexSorted) {
+            return "sorts every matching row before applying the row limit";
+        }
+        Matcher access = INDEX_ACCESS.matcher(plan);
+        while (access.find()) {
+            if (access.group(2).isEmpty() && !(limited && indexSorted) && !FULL_READS.contains(name)) {
+                return "unbounded scan of " + access.group(1);
+            }
+        }
+        if (index != null) {
+            Matcher expected = Pattern.compile("/\\* PUBLIC\\." + index + ":([^*]*)\\*/").matcher(plan);
+            if (!expected.find() || !expected.group(1).contains(seek)) {
+                return "expected " + index + " to be read from " + seek;
+            }
+        }
+        return null;
+    }
+
+    // 계획은 값과 무관하므로 파라미터는 모두 NULL 로 둔다
+    private String explain(String sql) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                ParameterMetaData parameters = statement.getParameterMetaData();
+                for (int i = 1; i <= parameters.getParameterCount(); i++) {
+                    statement.setNull(i, parameters.getParameterType(i));
+                }
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    resultSet.next();
+                    return resultSet.getString(1);
+                }
+            }
+        });
+    }
+}
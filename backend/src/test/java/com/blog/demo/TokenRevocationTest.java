@@ -0,0 +1,122 @@
+package com.blog.demo;
+
+import com.blog.demo.entity.Post;
+import com.blog.demo.entity.User;
+import com.blog.demo.repository.PostRepository;
+import com.blog.demo.repository.UserRepository;
+import com.blog.demo.security.JwtUtil;
+import com.blog.demo.security.TokenRevocationRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 로그아웃한 토큰의 거절과 블룸 필터 오탐 처리. 실제 Tomcat 으로 인증이 필요한 요청을 보낸다.
+ * 블룸 필터를 아주 작게 잡아 폐기 몇 건만으로 거의 모든 jti 가 양성이 되게 한다.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:tokenrevocationtest",
+        "spring.jpa.show-sql=false",
+        "app.tokenRevocation.expectedEntries=1",
+        "app.tokenRevocation.falsePositiveRate=0.5"
+})
+class TokenRevocationTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private TokenRevocationRegistry tokenRevocationRegistry;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    public void loggedOutTokenIsRejected() {
+        String username = createUser();
+        Long postId = createPost();
+        String token = jwtUtil.generateTokenFromUsername(username);
+        assertEquals(HttpStatus.OK, like(token, postId));
+
+        assertEquals(HttpStatus.OK, logout(token));
+        assertEquals(HttpStatus.UNAUTHORIZED, like(token, postId));
+
+        // DB 에서 다시 읽어도 폐기는 유지된다
+        tokenRevocationRegistry.load();
+        assertEquals(HttpStatus.UNAUTHORIZED, like(token, postId));
+    }
+
+    @Test
+    public void bloomFalsePositiveIsStillAccepted() {
+        String username = createUser();
+        Long postId = createPost();
+        for (int i = 0; i < 20; i++) {
+            assertEquals(HttpStatus.OK, logout(jwtUtil.generateTokenFromUsername(username)));
+        }
+
+        double falsePositives = falsePositiveCount();
+        String token = jwtUtil.generateTokenFromUsername(username);
+        assertEquals(HttpStatus.OK, like(token, postId));
+        // 블룸 필터는 양성이었지만 정확한 조회에서 폐기되지 않은 토큰으로 확인됐다
+        assertTrue(falsePositiveCount() > falsePositives);
+    }
+
+    private double falsePositiveCount() {
+        return meterRegistry.get("jwt.revocation.bloom").tag("result", "false_positive").counter().count();
+    }
+
+    private HttpStatusCode like(String token, Long postId) {
+        return restTemplate.postForEntity("/api/posts/" + postId + "/like?type=like",
+                new HttpEntity<>(null, bearer(token)), String.class).getStatusCode();
+    }
+
+    private HttpStatusCode logout(String token) {
+        return restTemplate.postForEntity("/api/auth/logout",
+                new HttpEntity<>(null, bearer(token)), String.class).getStatusCode();
+    }
+
+    private HttpHeaders bearer(String token) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        return headers;
+    }
+
+    private String createUser() {
+        String name = "revoke-" + UUID.randomUUID().toString().substring(0, 8);
+        User user = new User();
+        user.setUsername(name);
+        user.setEmail(name + "@example.com");
+        user.setPassword("unused");
+        user.setDisplayName(name);
+        userRepository.save(user);
+        return name;
+    }
+
+    private Long createPost() {
+        Post post = new Post();
+        post.setTitle("revoke");
+        post.setContent("revoke");
+        post.setCategory("revoke");
+        return postRepository.save(post).getId();
+    }
+}
@@ -0,0 +1,73 @@
+package com.blog.demo;
+
+import com.blog.demo.entity.Post;
+import com.blog.demo.repository.PostRepository;
+import com.blog.demo.service.ViewCountBuffer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+
+/**
+ * 조회수 버퍼가 DB 에 반영하지 못한 조회를 잃지 않는지 확인한다.
+ * 예약 flush 는 끄고 테스트가 직접 호출한다.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:viewcountbuffertest",
+        "spring.jpa.show-sql=false",
+        "app.viewCount.flushIntervalMs=3600000"
+})
+class ViewCountBufferTest {
+
+    private static final String VIEW_COUNT_SQL = "SELECT view_count FROM posts WHERE id = ?";
+
+    @Autowired
+    private ViewCountBuffer viewCountBuffer;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @SpyBean
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void failedFlushKeepsViewsForTheNextFlush() {
+        Long postId = createPost();
+        for (int i = 0; i < 5; i++) {
+            viewCountBuffer.increment(postId);
+        }
+
+        doThrow(new TransientDataAccessResourceException("connection lost"))
+                .doCallRealMethod()
+                .when(jdbcTemplate).batchUpdate(anyString(), anyList());
+        assertThrows(TransientDataAccessResourceException.class, () -> viewCountBuffer.flush());
+        assertEquals(0, viewCount(postId));
+        // 읽는 쪽에는 그대로 보인다
+        assertEquals(5, viewCountBuffer.getPending(postId));
+
+        viewCountBuffer.increment(postId);
+        viewCountBuffer.flush();
+        assertEquals(6, viewCount(postId));
+        assertEquals(0, viewCountBuffer.getPending(postId));
+    }
+
+    private Long createPost() {
+        Post post = new Post();
+        post.setTitle("views");
+        post.setContent("views");
+        post.setCategory("views");
+        return postRepository.save(post).getId();
+    }
+
+    private long viewCount(Long postId) {
+        return jdbcTemplate.queryForObject(VIEW_COUNT_SQL, Long.class, postId);
+    }
+}
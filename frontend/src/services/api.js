@@ -10,8 +10,8 @@ const api = axios.create({
 })
 
 export const postService = {
-  getAllPosts() {
-    return api.get('/posts')
+  getAllPosts(cursor = null, size = 20) {
+    return api.get('/posts', { params: { cursor, size } })
   },
   
   getPostById(id) {
@@ -38,16 +38,16 @@ export const postService = {
     return api.post(`/posts/${id}/view`)
   },
   
-  getPostsByCategory(category) {
-    return api.get(`/posts/category/${category}`)
+  getPostsByCategory(category, cursor = null, size = 20) {
+    return api.get(`/posts/category/${category}`, { params: { cursor, size } })
   },
   
   toggleLike(id, type) {
     return api.post(`/posts/${id}/like?type=${type}`)
   },
   
-  getPostsSorted(sortBy = 'recent', category = 'all') {
-    return api.get(`/posts/sorted?sortBy=${sortBy}&category=${category}`)
+  getPostsSorted(sortBy = 'recent', category = 'all', cursor = null, size = 20) {
+    return api.get('/posts/sorted', { params: { sortBy, category, cursor, size } })
   }
 }
 
@@ -60,6 +60,11 @@ export const adminService = {
     return api.get('/admin/posts')
   },
   
+  // params: { sortBy, keyword, role, suspended, cursor, size }
+  getUserDirectory(params) {
+    return api.get('/admin/users/directory', { params })
+  },
+  
   suspendUser(userId, days, reason) {
     return api.post(`/admin/users/${userId}/suspend`, { days, reason })
   },
@@ -80,6 +85,23 @@ export const adminService = {
     return api.delete(`/admin/posts/${postId}`)
   },
   
+  // filter: { postIds } 또는 { author, category, from, to }
+  bulkHidePosts(filter, reason) {
+    return api.post('/admin/posts/bulk/hide', { ...filter, reason })
+  },
+  
+  bulkUnhidePosts(filter) {
+    return api.post('/admin/posts/bulk/unhide', filter)
+  },
+  
+  bulkDeletePosts(filter) {
+    return api.post('/admin/posts/bulk/delete', filter)
+  },
+  
+  getModerationJob(jobId) {
+    return api.get(`/admin/moderation-jobs/${jobId}`)
+  },
+  
   getUserSuspension(userId) {
     return api.get(`/admin/users/${userId}/suspension`)
       .catch(error => {
@@ -108,8 +130,8 @@ export const fileService = {
 }
 
 export const commentService = {
-  getCommentsByPostId(postId) {
-    return api.get(`/comments/post/${postId}`)
+  getCommentsByPostId(postId, cursor = null, size = 50, order = 'asc') {
+    return api.get(`/comments/post/${postId}`, { params: { order, cursor, size } })
   },
   
   createComment(postId, comment) {